@@ -0,0 +1,107 @@
+package com.github.cargoclean.core.model;
+
+import com.github.cargoclean.core.model.cargo.*;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fixtures for benchmarks, in the spirit of {@link MockModels}, but of arbitrary
+ * size: itineraries with any number of legs, and handling histories with any
+ * number of events.
+ */
+public class BenchmarkModels {
+
+    public static final TrackingId TRACKING_ID = TrackingId.of("8E062F47");
+
+    public static final UtcDateTime DEPARTURE = UtcDateTime.of("01-07-2022");
+
+    private static final List<String> LOCATIONS = List.of("USDAL", "AUMEL", "JNTKO", "NLRTM", "FIHEL", "CNHKG");
+
+    /**
+     * Returns an itinerary going around the known locations, one day per leg,
+     * each leg on its own voyage.
+     */
+    public static Itinerary itinerary(int legCount) {
+        return Itinerary.of(IntStream.range(0, legCount)
+                .mapToObj(i -> Leg.builder()
+                        .cargoTrackingId(TRACKING_ID)
+                        .voyageNumber(voyage(i))
+                        .loadLocation(location(i))
+                        .unloadLocation(location(i + 1))
+                        .loadTime(DEPARTURE.plusDays(i).plusSeconds(3600L))
+                        .unloadTime(DEPARTURE.plusDays(i + 1L))
+                        .build())
+                .toList());
+    }
+
+    public static RouteSpecification routeSpecification(Itinerary itinerary) {
+        return RouteSpecification.builder()
+                .origin(itinerary.first().getLoadLocation())
+                .destination(itinerary.last().getUnloadLocation())
+                .arrivalDeadline(DEPARTURE.plusDays(itinerary.getLegs().size() + 1L))
+                .build();
+    }
+
+    public static Cargo routedCargo(int legCount) {
+        Itinerary itinerary = itinerary(legCount);
+        RouteSpecification routeSpecification = routeSpecification(itinerary);
+        return Cargo.builder()
+                .trackingId(TRACKING_ID)
+                .origin(routeSpecification.getOrigin())
+                .delivery(Delivery.builder()
+                        .transportStatus(TransportStatus.NOT_RECEIVED)
+                        .routingStatus(RoutingStatus.ROUTED)
+                        .build())
+                .routeSpecification(routeSpecification)
+                .itinerary(itinerary)
+                .build();
+    }
+
+    /**
+     * Returns {@code eventCount} distinct handling events, one hour apart, in the order of
+     * their completion: the cargo is received, then loaded and unloaded at each leg of the
+     * {@code itinerary}. If there are more events than the itinerary has legs, the cargo
+     * keeps going around on new voyages.
+     */
+    public static List<HandlingEvent> handlingEvents(Itinerary itinerary, int eventCount) {
+        List<HandlingEvent> events = new ArrayList<>(eventCount);
+        events.add(event(0, HandlingEventType.RECEIVE, itinerary.first().getLoadLocation(), null));
+        for (int i = 1; i < eventCount; i++) {
+            int leg = (i - 1) / 2;
+            if (i % 2 == 1) {
+                events.add(event(i, HandlingEventType.LOAD, location(leg), voyage(leg)));
+            } else {
+                events.add(event(i, HandlingEventType.UNLOAD, location(leg + 1), voyage(leg)));
+            }
+        }
+        return events;
+    }
+
+    public static HandlingEvent event(long eventId, HandlingEventType type, UnLocode location, VoyageNumber voyage) {
+        UtcDateTime completionTime = DEPARTURE.plusSeconds(3600L * eventId);
+        return HandlingEvent.builder()
+                .eventId(EventId.of(eventId))
+                .type(type)
+                .location(location)
+                .voyageNumber(voyage)
+                .cargoId(TRACKING_ID)
+                .completionTime(completionTime)
+                .registrationTime(completionTime)
+                .build();
+    }
+
+    private static UnLocode location(int index) {
+        return UnLocode.of(LOCATIONS.get(index % LOCATIONS.size()));
+    }
+
+    private static VoyageNumber voyage(int index) {
+        return VoyageNumber.of("%04dS".formatted(index));
+    }
+}
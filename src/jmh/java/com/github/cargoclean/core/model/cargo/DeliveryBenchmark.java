@@ -0,0 +1,62 @@
+package com.github.cargoclean.core.model.cargo;
+
+import com.github.cargoclean.core.model.BenchmarkModels;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.handling.HandlingHistory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calculating the delivery of a cargo from its full handling history,
+ * compared to applying just the new event to the current delivery.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeliveryBenchmark {
+
+    @Param({"5", "50"})
+    int legs;
+
+    @Param({"10", "100", "1000"})
+    int historySize;
+
+    RouteSpecification routeSpecification;
+
+    Itinerary itinerary;
+
+    List<HandlingEvent> events;
+
+    HandlingEvent newEvent;
+
+    Delivery delivery;
+
+    @Setup
+    public void setUp() {
+        itinerary = BenchmarkModels.itinerary(legs);
+        routeSpecification = BenchmarkModels.routeSpecification(itinerary);
+        events = BenchmarkModels.handlingEvents(itinerary, historySize);
+        delivery = Delivery.derivedFrom(routeSpecification, itinerary, new HandlingHistory(events));
+        newEvent = BenchmarkModels.event(historySize, HandlingEventType.CUSTOMS,
+                itinerary.last().getUnloadLocation(), null);
+    }
+
+    @Benchmark
+    public Delivery derivedFromHistory() {
+        List<HandlingEvent> allEvents = new ArrayList<>(events);
+        allEvents.add(newEvent);
+        return Delivery.derivedFrom(routeSpecification, itinerary, new HandlingHistory(allEvents));
+    }
+
+    @Benchmark
+    public Delivery applyNewEvent() {
+        return delivery.apply(newEvent, routeSpecification, itinerary);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.cargoclean.core.model.cargo;
+
+import com.github.cargoclean.core.model.BenchmarkModels;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures checking each event of a handling history against the itinerary: once
+ * with a new itinerary (as loaded from the database), and once with an itinerary
+ * which already served some checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItineraryBenchmark {
+
+    @Param({"2", "10", "50"})
+    int legs;
+
+    Itinerary itinerary;
+
+    List<HandlingEvent> events;
+
+    @Setup
+    public void setUp() {
+        itinerary = BenchmarkModels.itinerary(legs);
+        events = BenchmarkModels.handlingEvents(itinerary, 2 * legs + 1);
+        itinerary.isExpected(events.get(0));
+    }
+
+    @Benchmark
+    public void isExpectedOnNewItinerary(Blackhole blackhole) {
+        Itinerary newItinerary = Itinerary.of(itinerary.getLegs());
+        for (HandlingEvent event : events) {
+            blackhole.consume(newItinerary.isExpected(event));
+        }
+    }
+
+    @Benchmark
+    public void isExpected(Blackhole blackhole) {
+        for (HandlingEvent event : events) {
+            blackhole.consume(itinerary.isExpected(event));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.cargoclean.core.model.handling;
+
+import com.github.cargoclean.core.model.BenchmarkModels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a handling history from events in random order (as loaded
+ * from the database), adding a new event to an existing history, and listing
+ * the events of a history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandlingHistoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int historySize;
+
+    List<HandlingEvent> shuffledEvents;
+
+    HandlingHistory history;
+
+    List<HandlingEvent> newEvents;
+
+    @Setup
+    public void setUp() {
+        List<HandlingEvent> events = BenchmarkModels.handlingEvents(BenchmarkModels.itinerary(historySize / 2 + 1),
+                historySize + 1);
+        shuffledEvents = new ArrayList<>(events.subList(0, historySize));
+        Collections.shuffle(shuffledEvents, new Random(42L));
+        history = new HandlingHistory(shuffledEvents);
+        newEvents = List.of(events.get(historySize));
+    }
+
+    @Benchmark
+    public HandlingHistory build() {
+        return new HandlingHistory(shuffledEvents);
+    }
+
+    @Benchmark
+    public HandlingHistory withNewEvent() {
+        return history.withEvents(newEvents);
+    }
+
+    @Benchmark
+    public List<HandlingEvent> historyOfEvents() {
+        return history.historyOfEvents();
+    }
+}
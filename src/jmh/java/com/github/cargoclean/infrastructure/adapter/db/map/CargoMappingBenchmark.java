@@ -0,0 +1,70 @@
+package com.github.cargoclean.infrastructure.adapter.db.map;
+
+import com.github.cargoclean.core.model.BenchmarkModels;
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.Cargo;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoDbEntity;
+import com.github.cargoclean.infrastructure.adapter.map.CommonMapStructConverters;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import com.github.cargoclean.infrastructure.config.TestCacheConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    References:
+    ----------
+
+    1.  JMH samples: https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples
+ */
+
+/**
+ * Measures mapping of a routed cargo with a long itinerary from and to its database
+ * entity. Each leg has two date-times, so this mostly shows the cost of converting
+ * {@link UtcDateTime} from and to {@code Instant}. Run with {@code -prof gc} to see
+ * the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CargoMappingBenchmark {
+
+    @Param({"50"})
+    int legs;
+
+    AnnotationConfigApplicationContext context;
+
+    DbEntityMapper mapper;
+
+    Cargo cargo;
+
+    CargoDbEntity cargoDbEntity;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TestCacheConfig.class, CargoCleanProperties.class,
+                CommonMapStructConverters.class, DefaultDbEntityMapperImpl.class);
+        mapper = context.getBean(DbEntityMapper.class);
+        cargo = BenchmarkModels.routedCargo(legs);
+        cargoDbEntity = mapper.convert(cargo);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CargoDbEntity cargoToDbEntity() {
+        return mapper.convert(cargo);
+    }
+
+    @Benchmark
+    public Cargo dbEntityToCargo() {
+        return mapper.convert(cargoDbEntity);
+    }
+}
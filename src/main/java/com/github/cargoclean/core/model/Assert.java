@@ -1,7 +1,6 @@
 package com.github.cargoclean.core.model;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 public class Assert {
@@ -10,15 +9,24 @@ public class Assert {
     }
 
     public static <T> T notNull(T something) {
-        return Optional.ofNullable(something)
-                .orElseThrow(() -> new InvalidDomainObjectError("Null found for a non-null model attribute"));
+        if (something == null) {
+            throw new InvalidDomainObjectError("Null found for a non-null model attribute");
+        }
+        return something;
     }
 
     public static String notBlank(String something) {
-        if (notNull(something).matches("\\s*")) {
-            throw new InvalidDomainObjectError("Empty or blank string found for a non-blank model attribute");
+        // same as matching "\\s*", without compiling a regex on each call
+        for (int i = 0; i < notNull(something).length(); i++) {
+            if (!isRegexWhitespace(something.charAt(i))) {
+                return something;
+            }
         }
-        return something;
+        throw new InvalidDomainObjectError("Empty or blank string found for a non-blank model attribute");
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     public static int positive(int value) {
@@ -0,0 +1,69 @@
+package com.github.cargoclean.core.model;
+
+import java.util.function.Function;
+
+/*
+    Point of interest:
+    -----------------
+
+    Some value objects come from a small universe of values (UN/LOCODEs, voyage numbers)
+    but are created over and over again: for each column of each row read from the
+    database, for each request parameter, etc. Since value objects are immutable, we can
+    return the same instance for the same code (flyweight).
+
+    The table is a fixed-size, direct-mapped cache: each code hashes to exactly one slot,
+    and a new value simply replaces whatever was in its slot. So the table never grows
+    beyond its capacity, and there is no locking: the array slots are read and written
+    racily, which is safe because the values are immutable objects with final fields. At
+    worst, two threads create two equal instances for the same code, and one of them wins
+    the slot.
+ */
+
+/**
+ * Bounded table of interned value objects, looked up by their string codes.
+ *
+ * @param <T> type of the value object, must be immutable
+ */
+public final class InternTable<T> {
+
+    private final Object[] slots;
+
+    private final int mask;
+
+    private final Function<String, T> factory;
+
+    private final Function<T, String> codeOf;
+
+    /**
+     * @param capacity number of slots in the table, rounded up to a power of two
+     * @param factory  creates (and validates) a new value object for a code
+     * @param codeOf   returns the code of the value object, which was used to create it
+     */
+    public InternTable(int capacity, Function<String, T> factory, Function<T, String> codeOf) {
+        int size = Assert.positive(capacity) == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Object[size];
+        this.mask = size - 1;
+        this.factory = factory;
+        this.codeOf = codeOf;
+    }
+
+    /**
+     * Returns an interned value object for the {@code code}, creating it
+     * with the factory of this table if it is not in the table already.
+     *
+     * @param code code of the value object, must not be {@code null}
+     * @return value object for the code
+     */
+    @SuppressWarnings("unchecked")
+    public T get(String code) {
+        int hash = Assert.notNull(code).hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        T value = (T) slots[index];
+        if (value != null && codeOf.apply(value).equals(code)) {
+            return value;
+        }
+        value = factory.apply(code);
+        slots[index] = value;
+        return value;
+    }
+}
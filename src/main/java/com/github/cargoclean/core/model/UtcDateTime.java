@@ -4,21 +4,38 @@ import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Date;
-import java.util.Objects;
 
 import static com.github.cargoclean.core.model.Assert.notNull;
 
+/*
+    Point of interest:
+    -----------------
+
+    Every leg, handling event and route specification carries two or three of these
+    values, and the mappers convert them from and to "Instant" for each row. So instead
+    of wrapping a "ZonedDateTime" (which is a graph of several objects), we keep just
+    the number of seconds and nanoseconds since the epoch, like "Instant" does. All the
+    comparisons are done on these primitives. The zoned view, needed for formatting
+    and calendar arithmetic, is created (and cached) only on demand.
+ */
+
 /**
- * Wrapper around {@link ZonedDateTime} fixed to the {@code UTC} timezone.
- * This is a value object encapsulating all date-time related operations.
+ * Date-time fixed to the {@code UTC} timezone, stored as the seconds and nanoseconds
+ * since the epoch. This is a value object encapsulating all date-time related operations.
  */
 public class UtcDateTime implements Comparable<UtcDateTime> {
     private static final ZoneId UTC = ZoneId.from(ZoneOffset.UTC);
 
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private static final DateTimeFormatter SHORT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private static final DateTimeFormatter TO_STRING_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+
     /*
         Converted from "se.citerus.dddsample.domain.model.cargo.Itinerary#END_OF_DAYS".
      */
-    public static final UtcDateTime END_OF_DAYS = new UtcDateTime(Instant.ofEpochMilli(Long.MAX_VALUE).atZone(UTC));
+    public static final UtcDateTime END_OF_DAYS = new UtcDateTime(Instant.ofEpochMilli(Long.MAX_VALUE));
 
     /**
      * Creates an instance of {@link UtcDateTime} from the short date string. The start
@@ -43,77 +60,109 @@ public class UtcDateTime implements Comparable<UtcDateTime> {
         return new UtcDateTime(Instant.now());
     }
 
-    private final ZonedDateTime dateTimeAtUtc;
+    private final long epochSecond;
+
+    private final int nano;
+
+    /*
+        Lazily created zoned view, "ZonedDateTime" is immutable (with final fields),
+        so it is safe to publish it without synchronization.
+     */
+    private ZonedDateTime dateTimeAtUtc;
+
+    private UtcDateTime(long epochSecond, int nano) {
+        this.epochSecond = epochSecond;
+        this.nano = nano;
+    }
 
     public UtcDateTime(Instant instant) {
-        this.dateTimeAtUtc = notNull(instant).atZone(UTC);
+        this(notNull(instant).getEpochSecond(), instant.getNano());
     }
 
     public UtcDateTime(ZonedDateTime fromDateTime) {
-        this.dateTimeAtUtc = notNull(fromDateTime).withZoneSameInstant(UTC);
+        this(notNull(fromDateTime).toEpochSecond(), fromDateTime.getNano());
     }
 
     public UtcDateTime(Date fromDate) {
-        this.dateTimeAtUtc = Instant.ofEpochMilli(notNull(fromDate).getTime()).atZone(UTC);
+        this(Math.floorDiv(notNull(fromDate).getTime(), 1000L),
+                (int) Math.floorMod(fromDate.getTime(), 1000L) * 1_000_000);
     }
 
     public UtcDateTime(String fromString) {
+        this(parseShortDate(fromString), 0);
+    }
+
+    private static long parseShortDate(String fromString) {
         try {
-            this.dateTimeAtUtc = ZonedDateTime.of(LocalDate.parse(fromString, DateTimeFormatter.ofPattern("dd-MM-yyyy")).atStartOfDay(),
-                    UTC);
+            return LocalDate.parse(fromString, SHORT_DATE_FORMAT).toEpochDay() * SECONDS_PER_DAY;
         } catch (NullPointerException | DateTimeParseException e) {
             throw new InvalidDomainObjectError("String must not be null and must be in the format: \"dd-MM-yyyy\"");
         }
     }
 
     public ZonedDateTime toDateTimeAtUtc() {
-        return dateTimeAtUtc;
+        ZonedDateTime zoned = dateTimeAtUtc;
+        if (zoned == null) {
+            zoned = toInstant().atZone(UTC);
+            dateTimeAtUtc = zoned;
+        }
+        return zoned;
     }
 
     public boolean isUnknown() {
-        return dateTimeAtUtc.toInstant().toEpochMilli() == Long.MAX_VALUE;
+        return toEpochMilli() == Long.MAX_VALUE;
     }
 
     @Override
     public String toString() {
-        return dateTimeAtUtc.format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"));
+        return format(TO_STRING_FORMAT);
     }
 
     public Instant toInstant() {
-        return dateTimeAtUtc.toInstant();
+        return Instant.ofEpochSecond(epochSecond, nano);
     }
 
     public boolean isAfter(UtcDateTime anotherUtcDateTime) {
-        return dateTimeAtUtc.isAfter(anotherUtcDateTime.toDateTimeAtUtc());
+        return compareTo(anotherUtcDateTime) > 0;
     }
 
     @Override
     public int compareTo(UtcDateTime anotherUtcDateTime) {
-        return dateTimeAtUtc.compareTo(anotherUtcDateTime.toDateTimeAtUtc());
+        int cmp = Long.compare(epochSecond, anotherUtcDateTime.epochSecond);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Integer.compare(nano, anotherUtcDateTime.nano);
     }
 
     public String format(DateTimeFormatter pattern) {
-        return dateTimeAtUtc.format(pattern);
+        return toDateTimeAtUtc().format(pattern);
     }
 
     public UtcDateTime plusSeconds(long seconds) {
-        return new UtcDateTime(dateTimeAtUtc.plusSeconds(seconds));
+        return new UtcDateTime(Math.addExact(epochSecond, seconds), nano);
     }
 
     public UtcDateTime plusMonths(long months) {
-        return new UtcDateTime(dateTimeAtUtc.plusMonths(months));
+        return new UtcDateTime(toDateTimeAtUtc().plusMonths(months));
     }
 
     public UtcDateTime atStartOfDay() {
-        return new UtcDateTime(dateTimeAtUtc.withHour(0).withMinute(0).withSecond(0).withNano(0));
+        return new UtcDateTime(Math.floorDiv(epochSecond, SECONDS_PER_DAY) * SECONDS_PER_DAY, 0);
     }
 
     public UtcDateTime plusDays(long days) {
-        return new UtcDateTime(dateTimeAtUtc.plusDays(days));
+        // there is no daylight saving time in UTC, every day is exactly 24 hours
+        return plusSeconds(Math.multiplyExact(days, SECONDS_PER_DAY));
     }
 
     public Date getDate() {
-        return new Date(dateTimeAtUtc.toInstant().toEpochMilli());
+        return new Date(toEpochMilli());
+    }
+
+    private long toEpochMilli() {
+        // same as "Instant#toEpochMilli" for all the values we can have
+        return Math.addExact(Math.multiplyExact(epochSecond, 1000L), nano / 1_000_000);
     }
 
     @Override
@@ -121,11 +170,11 @@ public class UtcDateTime implements Comparable<UtcDateTime> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         UtcDateTime that = (UtcDateTime) o;
-        return dateTimeAtUtc.equals(that.dateTimeAtUtc);
+        return epochSecond == that.epochSecond && nano == that.nano;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(dateTimeAtUtc);
+        return 31 * Long.hashCode(epochSecond) + nano;
     }
 }
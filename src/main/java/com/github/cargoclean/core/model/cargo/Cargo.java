@@ -11,6 +11,7 @@ package com.github.cargoclean.core.model.cargo;
  */
 
 
+import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.model.handling.HandlingHistory;
 import com.github.cargoclean.core.model.location.UnLocode;
 import lombok.AccessLevel;
@@ -19,6 +20,11 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import static com.github.cargoclean.core.model.Assert.notNull;
 
 
@@ -148,4 +154,47 @@ public class Cargo {
                 .build();
     }
 
+    /**
+     * Returns a new instance of the cargo with delivery updated to reflect a newly recorded
+     * {@code handlingEvent}. If the event was completed after the last event already reflected
+     * by the delivery, the delivery is calculated from the event alone. Otherwise, (the event
+     * arrived out of order) the delivery is recalculated from the full handling history.
+     *
+     * @param handlingEvent   newly recorded handling event of the cargo
+     * @param handlingHistory supplier of the full handling history of the cargo, called only if needed
+     * @return new {@code Cargo} with updated delivery
+     */
+    public Cargo updateDeliveryProgress(HandlingEvent handlingEvent, Supplier<HandlingHistory> handlingHistory) {
+        return updateDeliveryProgress(List.of(handlingEvent), handlingHistory);
+    }
+
+    /**
+     * Returns a new instance of the cargo with delivery updated to reflect several newly recorded
+     * {@code handlingEvents} at once. Since delivery depends only on the most recently completed
+     * event, only the latest of the new events is applied, if it can be applied incrementally.
+     * Otherwise, the delivery is recalculated from the full handling history.
+     *
+     * @param handlingEvents  newly recorded handling events of the cargo, in any order
+     * @param handlingHistory supplier of the full handling history of the cargo, called only if needed
+     * @return new {@code Cargo} with updated delivery
+     * @see #updateDeliveryProgress(HandlingEvent, Supplier)
+     */
+    public Cargo updateDeliveryProgress(List<HandlingEvent> handlingEvents, Supplier<HandlingHistory> handlingHistory) {
+        Optional<HandlingEvent> latestEvent = handlingEvents.stream()
+                .max(Comparator.comparing(HandlingEvent::getCompletionTime));
+
+        // if several new events were completed at the same time, we cannot tell which one is the latest
+        boolean latestEventIsUnique = latestEvent.map(event -> handlingEvents.stream()
+                        .filter(other -> other.getCompletionTime().equals(event.getCompletionTime()))
+                        .count() == 1)
+                .orElse(false);
+
+        if (latestEventIsUnique && delivery.canApply(latestEvent.get())) {
+            return newCargo()
+                    .delivery(delivery.apply(latestEvent.get(), routeSpecification, itinerary))
+                    .build();
+        }
+        return updateDeliveryProgress(handlingHistory.get());
+    }
+
 }
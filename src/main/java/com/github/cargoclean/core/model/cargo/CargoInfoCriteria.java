@@ -0,0 +1,29 @@
+package com.github.cargoclean.core.model.cargo;
+
+import com.github.cargoclean.core.model.location.UnLocode;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Criteria for listing one page of {@link CargoInfo}s, ordered by tracking ID. Pages
+ * are navigated with a key (the last tracking ID of the previous page) instead of an
+ * offset, so that each page costs the same, however far it is in the listing.
+ * Routing status and destination are optional filters.
+ */
+@Value
+@Builder
+public class CargoInfoCriteria {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    // tracking ID of the last cargo on the previous page, null for the first page
+    TrackingId after;
+
+    RoutingStatus routingStatus;
+
+    UnLocode destination;
+
+    @Builder.Default
+    int pageSize = DEFAULT_PAGE_SIZE;
+
+}
@@ -0,0 +1,28 @@
+package com.github.cargoclean.core.model.cargo;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of {@link CargoInfo}s listed with {@link CargoInfoCriteria}. If there are
+ * more cargoes after this page, {@code next} holds the tracking ID to use as the key
+ * of the next page.
+ */
+@Value
+public class CargoInfoPage {
+
+    List<CargoInfo> cargoes;
+
+    TrackingId next;
+
+    public CargoInfoPage(List<CargoInfo> cargoes, TrackingId next) {
+        this.cargoes = List.copyOf(cargoes);
+        this.next = next;
+    }
+
+    public Optional<TrackingId> nextPage() {
+        return Optional.ofNullable(next);
+    }
+}
@@ -11,6 +11,7 @@ package com.github.cargoclean.core.model.cargo;
  */
 
 
+import com.github.cargoclean.core.model.InvalidDomainObjectError;
 import com.github.cargoclean.core.model.UtcDateTime;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.model.handling.HandlingEventType;
@@ -22,7 +23,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
-import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 import static com.github.cargoclean.core.model.Assert.notNull;
@@ -69,29 +70,73 @@ public class Delivery {
     @Getter
     HandlingActivity nextExpectedActivity;
 
+    /*
+        Completion time of the last handling event reflected by this delivery,
+        we need it to be able to tell if a new handling event can be applied
+        incrementally.
+     */
+    @Getter
+    UtcDateTime lastEventCompletionTime;
+
     static Delivery derivedFrom(RouteSpecification routeSpecification, Itinerary itinerary, HandlingHistory handlingHistory) {
 
         return new Delivery(handlingHistory.mostRecentlyCompletedEvent().orElse(null), itinerary, routeSpecification);
     }
 
+    /**
+     * Returns {@code true} if the {@code handlingEvent} was completed strictly after the last
+     * handling event reflected by this delivery. Only then the new delivery can be calculated
+     * from the event alone, without the full handling history of the cargo.
+     *
+     * @param handlingEvent new handling event
+     * @return {@code true} if the event can be applied to this delivery incrementally
+     */
+    boolean canApply(HandlingEvent handlingEvent) {
+        if (lastEventCompletionTime == null) {
+            // delivery without any handling event can only be for a cargo which was not received yet,
+            // otherwise the time of the last event is unknown (i.e. delivery was persisted without it)
+            return transportStatus == NOT_RECEIVED && lastKnownLocation == null;
+        }
+        return handlingEvent.getCompletionTime().isAfter(lastEventCompletionTime);
+    }
+
+    /**
+     * Calculates new delivery assuming that {@code handlingEvent} is the most recently
+     * completed event in the handling history of the cargo.
+     *
+     * @param handlingEvent      new handling event, must be applicable to this delivery
+     * @param routeSpecification route specification of the cargo
+     * @param itinerary          itinerary of the cargo, can be {@code null}
+     * @return new delivery
+     * @see #canApply(HandlingEvent)
+     */
+    Delivery apply(HandlingEvent handlingEvent, RouteSpecification routeSpecification, Itinerary itinerary) {
+        if (!canApply(handlingEvent)) {
+            throw new InvalidDomainObjectError("Handling event %s was completed before the last event of the delivery"
+                    .formatted(handlingEvent.getEventId()));
+        }
+        return new Delivery(handlingEvent, itinerary, routeSpecification);
+    }
+
     /**
      * This constructor is needed for MapStruct mapper to map a database entity
      * {@code DeliveryDbEntity} to corresponding {@code Delivery} value object
      * associated with each cargo. All the fields for "Delivery" which are persisted
      * in the database need to be initialized here.
      *
-     * @param transportStatus      current transport status for the cargo
-     * @param lastKnownLocation    UnLocode for last known location of the cargo, can be {@code null}
-     * @param currentVoyage        current voyage the cargo is on, can be {@code null}
-     * @param eta                  estimated date of arrival for the cargo
-     * @param routingStatus        routing status of the cargo
-     * @param misdirected          indicates whether the cargo is misdirected
-     * @param nextExpectedActivity next expected handling activity
+     * @param transportStatus         current transport status for the cargo
+     * @param lastKnownLocation       UnLocode for last known location of the cargo, can be {@code null}
+     * @param currentVoyage           current voyage the cargo is on, can be {@code null}
+     * @param eta                     estimated date of arrival for the cargo
+     * @param routingStatus           routing status of the cargo
+     * @param misdirected             indicates whether the cargo is misdirected
+     * @param nextExpectedActivity    next expected handling activity
+     * @param lastEventCompletionTime completion time of the last handling event, can be {@code null}
      */
     @Builder
     public Delivery(TransportStatus transportStatus, UnLocode lastKnownLocation, VoyageNumber currentVoyage,
                     UtcDateTime eta, RoutingStatus routingStatus, boolean misdirected,
-                    HandlingActivity nextExpectedActivity) {
+                    HandlingActivity nextExpectedActivity, UtcDateTime lastEventCompletionTime) {
         this.transportStatus = notNull(transportStatus);
         this.lastKnownLocation = lastKnownLocation;
         this.currentVoyage = currentVoyage;
@@ -100,6 +145,7 @@ public class Delivery {
         this.routingStatus = notNull(routingStatus);
         this.misdirected = misdirected;
         this.nextExpectedActivity = nextExpectedActivity;
+        this.lastEventCompletionTime = lastEventCompletionTime;
     }
 
     private Delivery(HandlingEvent lastEvent, Itinerary itinerary, RouteSpecification routeSpecification) {
@@ -111,6 +157,7 @@ public class Delivery {
         this.currentVoyage = calculateCurrentVoyage().orElse(null);
         this.eta = calculateEta(itinerary);
         this.nextExpectedActivity = calculateNextExpectedActivity(routeSpecification, itinerary);
+        this.lastEventCompletionTime = lastEvent != null ? lastEvent.getCompletionTime() : null;
     }
 
     /*
@@ -215,38 +262,37 @@ public class Delivery {
         switch (lastEvent.getType()) {
 
             case LOAD:
-                for (Leg leg : itinerary.getLegs()) {
-                    if (leg.getLoadLocation().equals(lastEvent.getLocation())) {
-                        return new HandlingActivity(HandlingEventType.UNLOAD, leg.getUnloadLocation(), leg.getVoyageNumber());
-                    }
+                final int loadIndex = itinerary.indexOfFirstLegLoadingAt(lastEvent.getLocation());
+                if (loadIndex >= 0) {
+                    final Leg leg = itinerary.getLegs().get(loadIndex);
+                    return new HandlingActivity(HandlingEventType.UNLOAD, leg.getUnloadLocation(), leg.getVoyageNumber());
                 }
 
                 return NO_ACTIVITY;
 
             case UNLOAD:
-                for (Iterator<Leg> it = itinerary.getLegs().iterator(); it.hasNext(); ) {
-                    final Leg leg = it.next();
-                    if (leg.getUnloadLocation().equals(lastEvent.getLocation())) {
-                        if (it.hasNext()) {
-                            final Leg nextLeg = it.next();
-                            return HandlingActivity.builder()
-                                    .type(HandlingEventType.LOAD)
-                                    .location(nextLeg.getLoadLocation())
-                                    .voyageNumber(nextLeg.getVoyageNumber())
-                                    .build();
-                        } else {
-                            return HandlingActivity.builder()
-                                    .type(HandlingEventType.CLAIM)
-                                    .location(leg.getUnloadLocation())
-                                    .build();
-                        }
+                final int unloadIndex = itinerary.indexOfFirstLegUnloadingAt(lastEvent.getLocation());
+                if (unloadIndex >= 0) {
+                    final List<Leg> legs = itinerary.getLegs();
+                    if (unloadIndex + 1 < legs.size()) {
+                        final Leg nextLeg = legs.get(unloadIndex + 1);
+                        return HandlingActivity.builder()
+                                .type(HandlingEventType.LOAD)
+                                .location(nextLeg.getLoadLocation())
+                                .voyageNumber(nextLeg.getVoyageNumber())
+                                .build();
+                    } else {
+                        return HandlingActivity.builder()
+                                .type(HandlingEventType.CLAIM)
+                                .location(legs.get(unloadIndex).getUnloadLocation())
+                                .build();
                     }
                 }
 
                 return NO_ACTIVITY;
 
             case RECEIVE:
-                final Leg firstLeg = itinerary.getLegs().iterator().next();
+                final Leg firstLeg = itinerary.first();
                 return HandlingActivity.builder()
                         .type(HandlingEventType.LOAD)
                         .location(firstLeg.getLoadLocation())
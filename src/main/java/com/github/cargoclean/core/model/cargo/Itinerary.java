@@ -13,11 +13,19 @@ package com.github.cargoclean.core.model.cargo;
 import com.github.cargoclean.core.model.UtcDateTime;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,6 +34,22 @@ import java.util.Optional;
 @Value
 public class Itinerary {
 
+    /*
+        Point of interest:
+        -----------------
+
+        Checking if a handling event is expected, or calculating the next expected
+        activity of a delivery, used to scan the legs of the itinerary for each event.
+        Itinerary is immutable, so we can build the lookup tables (by location and
+        voyage) once, when they are first needed, and reuse them for all subsequent
+        checks. Lookup tables are not part of the value of the itinerary: they are
+        excluded from "equals", "hashCode" and "toString".
+
+        The tables always point to the first matching leg, exactly like the linear
+        scans they replace. Building them concurrently from several threads is harmless:
+        each thread will build an identical (immutable) copy.
+     */
+
     /*
         Copied from "se.citerus.dddsample.domain.model.cargo.Itinerary#EMPTY_ITINERARY".
      */
@@ -33,6 +57,12 @@ public class Itinerary {
 
     List<Leg> legs;
 
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    volatile LegIndex legIndex;
+
     public static Itinerary of(List<Leg> legs) {
         return Itinerary.builder()
                 .legs(legs)
@@ -45,11 +75,11 @@ public class Itinerary {
     }
 
     public Leg first() {
-        return legs.stream().findFirst().orElse(null);
+        return legs.isEmpty() ? null : legs.get(0);
     }
 
     public Leg last() {
-        return legs.stream().skip(legs.size() - 1L).findFirst().orElse(null);
+        return lastLeg();
     }
 
     public List<Leg> intermediate() {
@@ -57,8 +87,24 @@ public class Itinerary {
         if (size < 3) {
             return List.of();
         }
-        return Arrays.stream(Arrays.copyOfRange(legs.toArray(new Leg[0]), 1, size - 1))
-                .toList();
+        // view of the immutable list of legs, no need to copy
+        return legs.subList(1, size - 1);
+    }
+
+    /**
+     * Returns the index of the first leg of this itinerary which loads
+     * at the {@code location}, or {@code -1} if there is no such leg.
+     */
+    int indexOfFirstLegLoadingAt(UnLocode location) {
+        return legIndex().firstLoadAt.getOrDefault(location, -1);
+    }
+
+    /**
+     * Returns the index of the first leg of this itinerary which unloads
+     * at the {@code location}, or {@code -1} if there is no such leg.
+     */
+    int indexOfFirstLegUnloadingAt(UnLocode location) {
+        return legIndex().firstUnloadAt.getOrDefault(location, -1);
     }
 
     /*
@@ -101,22 +147,12 @@ public class Itinerary {
 
         if (event.getType() == HandlingEventType.LOAD) {
             //Check that the there is one leg with same load location and voyage
-            for (Leg leg : legs) {
-                if (leg.getLoadLocation().equals(event.getLocation()) &&
-                        leg.getVoyageNumber().equals(event.getVoyageNumber()))
-                    return true;
-            }
-            return false;
+            return legIndex().loads.containsKey(new LocationAndVoyage(event.getLocation(), event.getVoyageNumber()));
         }
 
         if (event.getType() == HandlingEventType.UNLOAD) {
             //Check that the there is one leg with same unload location and voyage
-            for (Leg leg : legs) {
-                if (leg.getUnloadLocation().equals(event.getLocation()) &&
-                        leg.getVoyageNumber().equals(event.getVoyageNumber()))
-                    return true;
-            }
-            return false;
+            return legIndex().unloads.containsKey(new LocationAndVoyage(event.getLocation(), event.getVoyageNumber()));
         }
 
         if (event.getType() == HandlingEventType.CLAIM) {
@@ -129,4 +165,45 @@ public class Itinerary {
         return true;
     }
 
+    private LegIndex legIndex() {
+        LegIndex index = legIndex;
+        if (index == null) {
+            index = new LegIndex(legs);
+            legIndex = index;
+        }
+        return index;
+    }
+
+    private record LocationAndVoyage(UnLocode location, VoyageNumber voyageNumber) {
+    }
+
+    /*
+        Lookup tables for the legs of an itinerary: from (location, voyage) and
+        from location alone to the index of the first matching leg.
+     */
+    private static final class LegIndex {
+
+        final Map<LocationAndVoyage, Integer> loads;
+        final Map<LocationAndVoyage, Integer> unloads;
+        final Map<UnLocode, Integer> firstLoadAt;
+        final Map<UnLocode, Integer> firstUnloadAt;
+
+        LegIndex(List<Leg> legs) {
+            Map<LocationAndVoyage, Integer> loads = new HashMap<>();
+            Map<LocationAndVoyage, Integer> unloads = new HashMap<>();
+            Map<UnLocode, Integer> firstLoadAt = new HashMap<>();
+            Map<UnLocode, Integer> firstUnloadAt = new HashMap<>();
+            for (int i = 0; i < legs.size(); i++) {
+                Leg leg = legs.get(i);
+                loads.putIfAbsent(new LocationAndVoyage(leg.getLoadLocation(), leg.getVoyageNumber()), i);
+                unloads.putIfAbsent(new LocationAndVoyage(leg.getUnloadLocation(), leg.getVoyageNumber()), i);
+                firstLoadAt.putIfAbsent(leg.getLoadLocation(), i);
+                firstUnloadAt.putIfAbsent(leg.getUnloadLocation(), i);
+            }
+            this.loads = Map.copyOf(loads);
+            this.unloads = Map.copyOf(unloads);
+            this.firstLoadAt = Map.copyOf(firstLoadAt);
+            this.firstUnloadAt = Map.copyOf(firstUnloadAt);
+        }
+    }
 }
@@ -10,6 +10,7 @@ package com.github.cargoclean.core.model.cargo;
     "original-license.txt", as well.
  */
 
+import com.github.cargoclean.core.model.InternTable;
 import lombok.Builder;
 import lombok.Value;
 
@@ -21,6 +22,13 @@ import static com.github.cargoclean.core.model.Assert.notBlank;
 @Value
 public class TrackingId {
 
+    /*
+        Unlike locations or voyages, there is no bound on the number of cargoes,
+        but the same (recently handled) cargoes are read again and again.
+     */
+    private static final InternTable<TrackingId> INTERNED = new InternTable<>(4096, TrackingId::new,
+            TrackingId::getId);
+
     String id;
 
     @Builder
@@ -34,9 +42,10 @@ public class TrackingId {
         return id;
     }
 
+    /**
+     * Returns an (interned) instance of {@code TrackingId} for the ID.
+     */
     public static TrackingId of(String id) {
-        return TrackingId.builder()
-                .id(id)
-                .build();
+        return INTERNED.get(id);
     }
 }
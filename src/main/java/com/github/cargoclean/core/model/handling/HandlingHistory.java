@@ -60,6 +60,54 @@ public class HandlingHistory {
         this.handlingEvents = new ArrayList<>(set.stream().toList());
     }
 
+    private HandlingHistory(HandlingEvent[] sortedEvents) {
+        this.handlingEvents = List.of(sortedEvents);
+    }
+
+    /*
+        Creates a history from the events which are already sorted (the latest
+        first) and without duplicates, skipping the sorting of the public constructor.
+     */
+    private static HandlingHistory ofSortedEvents(List<HandlingEvent> sortedEvents) {
+        return new HandlingHistory(sortedEvents.toArray(HandlingEvent[]::new));
+    }
+
+    /**
+     * Returns a new history with the given events added, as if the history was built
+     * from all the events at once: each event is inserted at its position by the completion
+     * time, after any events completed at the same time, and of the similar events only
+     * the one with the latest completion time is kept. This is cheaper than building
+     * the history again, since usually the new events are the most recent ones.
+     *
+     * @param newEvents events to add, in the order in which they were recorded
+     * @return new handling history
+     */
+    public HandlingHistory withEvents(List<HandlingEvent> newEvents) {
+        if (newEvents.isEmpty()) {
+            return this;
+        }
+
+        List<HandlingEvent> events = new ArrayList<>(handlingEvents);
+        for (HandlingEvent newEvent : newEvents) {
+            int duplicate = events.indexOf(newEvent);
+            if (duplicate != -1) {
+                if (!newEvent.getCompletionTime().isAfter(events.get(duplicate).getCompletionTime())) {
+                    continue;
+                }
+                events.remove(duplicate);
+            }
+
+            // scan from the latest event, the new event is usually inserted at the very start
+            int position = 0;
+            while (position < events.size()
+                    && events.get(position).getCompletionTime().compareTo(newEvent.getCompletionTime()) >= 0) {
+                position++;
+            }
+            events.add(position, newEvent);
+        }
+        return ofSortedEvents(events);
+    }
+
     public Optional<HandlingEvent> mostRecentlyCompletedEvent() {
         if (handlingEvents.isEmpty()) {
             return Optional.empty();
@@ -0,0 +1,72 @@
+package com.github.cargoclean.core.model.location;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the regions of all the locations: region of a location is
+ * looked up by its {@link UnLocode} in constant time, and the locations of a region
+ * are grouped in an {@link EnumMap}. Updating a location returns a new snapshot.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RegionIndex {
+
+    public static final RegionIndex EMPTY = new RegionIndex(Map.of());
+
+    Map<UnLocode, Region> regions;
+
+    EnumMap<Region, Set<UnLocode>> locationsByRegion;
+
+    private RegionIndex(Map<UnLocode, Region> regions) {
+        this.regions = Map.copyOf(regions);
+        this.locationsByRegion = new EnumMap<>(Region.class);
+        this.regions.forEach((unLocode, region) -> locationsByRegion
+                .computeIfAbsent(region, r -> new HashSet<>()).add(unLocode));
+        this.locationsByRegion.replaceAll((region, unLocodes) -> Set.copyOf(unLocodes));
+    }
+
+    public static RegionIndex of(Collection<Location> locations) {
+        return new RegionIndex(locations.stream()
+                .collect(Collectors.toMap(Location::getUnlocode, Location::getRegion)));
+    }
+
+    /**
+     * Returns a new index with the region of the {@code location} added or updated.
+     *
+     * @param location new or updated location
+     * @return new index, or this index if the region of the location has not changed
+     */
+    public RegionIndex withLocation(Location location) {
+        if (regions.get(location.getUnlocode()) == location.getRegion()) {
+            return this;
+        }
+        Map<UnLocode, Region> newRegions = new HashMap<>(regions);
+        newRegions.put(location.getUnlocode(), location.getRegion());
+        return new RegionIndex(newRegions);
+    }
+
+    public Optional<Region> regionOf(UnLocode unLocode) {
+        return Optional.ofNullable(regions.get(unLocode));
+    }
+
+    public boolean isIn(UnLocode unLocode, Region region) {
+        return regions.get(unLocode) == region;
+    }
+
+    public Set<UnLocode> locationsIn(Region region) {
+        return locationsByRegion.getOrDefault(region, Set.of());
+    }
+
+    public int size() {
+        return regions.size();
+    }
+}
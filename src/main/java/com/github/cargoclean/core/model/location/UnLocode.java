@@ -10,6 +10,7 @@ package com.github.cargoclean.core.model.location;
     "original-license.txt", as well.
  */
 
+import com.github.cargoclean.core.model.InternTable;
 import com.github.cargoclean.core.model.InvalidDomainObjectError;
 import lombok.Builder;
 import lombok.Value;
@@ -23,21 +24,52 @@ import static com.github.cargoclean.core.model.Assert.notNull;
 @Value
 public class UnLocode {
 
+    private static final InternTable<UnLocode> INTERNED = new InternTable<>(1024, UnLocode::new, UnLocode::getCode);
+
     String code;
 
     @Builder
     public UnLocode(String code) {
 
-        // Must not be null and must conform to UN location code format
-        if (!notNull(code).matches("^[a-zA-Z]{2}[a-zA-Z2-9]{3}$")) {
+        // Must not be null and must conform to UN location code format: "^[a-zA-Z]{2}[a-zA-Z2-9]{3}$"
+        if (!isValid(notNull(code))) {
             throw new InvalidDomainObjectError("Invalid UN/LOCODE: <%s>".formatted(code));
         }
 
         this.code = code.toUpperCase();
     }
 
+    /**
+     * Returns an (interned) instance of {@code UnLocode} for the code.
+     */
     public static UnLocode of(String code) {
-        return UnLocode.builder().code(code).build();
+        // interned instances are keyed by their (upper-case) code, so look up
+        // with the same key, otherwise "usdal" would never hit its slot
+        return INTERNED.get(upperCase(notNull(code)));
+    }
+
+    private static String upperCase(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                return code.toUpperCase();
+            }
+        }
+        return code;
+    }
+
+    private static boolean isValid(String code) {
+        if (code.length() != 5) {
+            return false;
+        }
+        for (int i = 0; i < 5; i++) {
+            char c = code.charAt(i);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            if (!letter && (i < 2 || c < '2' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -10,6 +10,7 @@ package com.github.cargoclean.core.model.voyage;
     "original-license.txt", as well.
  */
 
+import com.github.cargoclean.core.model.InternTable;
 import lombok.Builder;
 import lombok.Value;
 
@@ -21,6 +22,9 @@ import static com.github.cargoclean.core.model.Assert.notBlank;
 @Value
 public class VoyageNumber {
 
+    private static final InternTable<VoyageNumber> INTERNED = new InternTable<>(1024, VoyageNumber::new,
+            VoyageNumber::getNumber);
+
     String number;
 
     @Builder
@@ -28,10 +32,11 @@ public class VoyageNumber {
         this.number = notBlank(number);
     }
 
+    /**
+     * Returns an (interned) instance of {@code VoyageNumber} for the number.
+     */
     public static VoyageNumber of(String number) {
-        return VoyageNumber.builder()
-                .number(number)
-                .build();
+        return INTERNED.get(number);
     }
 
     @Override
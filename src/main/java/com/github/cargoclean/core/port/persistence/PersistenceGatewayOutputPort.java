@@ -2,6 +2,8 @@ package com.github.cargoclean.core.port.persistence;
 
 import com.github.cargoclean.core.model.cargo.Cargo;
 import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.consignment.Consignment;
 import com.github.cargoclean.core.model.consignment.ConsignmentId;
@@ -9,12 +11,13 @@ import com.github.cargoclean.core.model.handling.EventId;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.model.handling.HandlingHistory;
 import com.github.cargoclean.core.model.location.Location;
-import com.github.cargoclean.core.model.location.Region;
+import com.github.cargoclean.core.model.location.RegionIndex;
 import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.core.model.report.ExpectedArrivals;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -26,6 +29,14 @@ public interface PersistenceGatewayOutputPort {
 
     EventId nextEventId();
 
+    /**
+     * Generates {@code count} new unique event IDs at once.
+     *
+     * @param count number of IDs to generate
+     * @return list of new event IDs
+     */
+    List<EventId> nextEventIds(int count);
+
     /**
      * Load all {@code Locations} from the database.
      *
@@ -41,6 +52,15 @@ public interface PersistenceGatewayOutputPort {
      */
     Location obtainLocationByUnLocode(UnLocode unLocode);
 
+    /**
+     * Load {@code Locations} with matching {@code unLocodes} from the database, all at once.
+     * Codes of the locations which do not exist are not in the returned map.
+     *
+     * @param unLocodes UN location codes
+     * @return map of UN location codes to fully resolved locations
+     */
+    Map<UnLocode, Location> locationsByUnLocodes(Set<UnLocode> unLocodes);
+
     /**
      * Persist {@code Cargo} instance, and return instance with {@code id} generated by the database
      *
@@ -65,14 +85,41 @@ public interface PersistenceGatewayOutputPort {
 
     List<ExpectedArrivals> queryForExpectedArrivals();
 
+    /**
+     * Recount expected arrivals for all destinations from the stored cargoes,
+     * to reconcile the numbers maintained when cargoes are saved or deleted.
+     *
+     * @return expected arrivals after rebuild
+     */
+    List<ExpectedArrivals> rebuildExpectedArrivals();
+
     void recordHandlingEvent(HandlingEvent event);
 
+    /**
+     * Records all new handling events at once (in a batch).
+     *
+     * @param events new handling events
+     */
+    void recordHandlingEvents(List<HandlingEvent> events);
+
+    /**
+     * Returns those of the given tracking IDs for which there is a cargo in the database.
+     *
+     * @param trackingIds tracking IDs to check
+     * @return tracking IDs of existing cargoes
+     */
+    Set<TrackingId> existingTrackingIds(Set<TrackingId> trackingIds);
+
     HandlingHistory handlingHistory(TrackingId cargoId);
 
-    default Map<UnLocode, Region> allRegionsMap() {
-        return allLocations().stream()
-                .collect(Collectors.toUnmodifiableMap(Location::getUnlocode,
-                        Location::getRegion));
+    /**
+     * Returns the index of the regions of all locations. Implementations may
+     * return a snapshot maintained when locations are saved.
+     *
+     * @return regions of all locations
+     */
+    default RegionIndex regionIndex() {
+        return RegionIndex.of(allLocations());
     }
 
     default Map<UnLocode, Location> allLocationsMap() {
@@ -84,7 +131,14 @@ public interface PersistenceGatewayOutputPort {
 
     void saveLocation(Location location);
 
-    List<CargoInfo> allCargoes();
+    /**
+     * Load one page of information about cargoes matching {@code criteria}, ordered
+     * by tracking ID.
+     *
+     * @param criteria page key, page size and optional filters
+     * @return page of cargo information
+     */
+    CargoInfoPage cargoInfoPage(CargoInfoCriteria criteria);
 
     void saveConsignment(Consignment consignment);
 }
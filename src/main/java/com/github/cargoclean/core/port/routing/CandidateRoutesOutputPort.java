@@ -0,0 +1,35 @@
+package com.github.cargoclean.core.port.routing;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the candidate routes exactly as they were presented to the user, so that
+ * the route selected by the user later is resolved against the same list, even if
+ * the candidate itineraries for the route specification have been recalculated
+ * in the meantime.
+ */
+public interface CandidateRoutesOutputPort {
+
+    /**
+     * Saves an immutable snapshot of the candidate routes presented for the cargo.
+     *
+     * @param trackingId      tracking ID of the cargo
+     * @param candidateRoutes candidate routes, in the order in which they were presented
+     * @return ID of the snapshot, to be passed back with the selection of the user
+     */
+    String saveCandidateRoutes(TrackingId trackingId, List<RouteDto> candidateRoutes);
+
+    /**
+     * Returns the route selected from the snapshot of the candidate routes.
+     *
+     * @param trackingId         tracking ID of the cargo
+     * @param snapshotId         ID of the snapshot
+     * @param selectedRouteIndex index of the selected route in the snapshot
+     * @return selected route, empty if the snapshot has expired, was saved for another
+     * cargo, or if there is no route with this index
+     */
+    Optional<RouteDto> selectedRoute(TrackingId trackingId, String snapshotId, int selectedRouteIndex);
+}
@@ -3,9 +3,8 @@ package com.github.cargoclean.core.port.security;
 import com.github.cargoclean.core.model.cargo.Itinerary;
 import com.github.cargoclean.core.model.cargo.Leg;
 import com.github.cargoclean.core.model.location.Region;
-import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.location.RegionIndex;
 
-import java.util.Map;
 import java.util.Optional;
 
 import static com.github.cargoclean.core.model.location.Region.EUROPE;
@@ -53,7 +52,7 @@ public interface SecurityOutputPort {
         }
     }
 
-    default void assertThatUserHasPermissionToRouteCargoThroughRegions(Itinerary itinerary, Map<UnLocode, Region> regions) {
+    default void assertThatUserHasPermissionToRouteCargoThroughRegions(Itinerary itinerary, RegionIndex regions) {
         // see if the itinerary contains an intermediate leg with a location from
         // the special region
 
@@ -68,8 +67,8 @@ public interface SecurityOutputPort {
 
     }
 
-    private boolean goesThroughSpecialRegion(Leg leg, Map<UnLocode, Region> regions) {
-        return regions.get(leg.getLoadLocation()) == SPECIAL_REGION
-                || regions.get(leg.getUnloadLocation()) == SPECIAL_REGION;
+    private boolean goesThroughSpecialRegion(Leg leg, RegionIndex regions) {
+        return regions.isIn(leg.getLoadLocation(), SPECIAL_REGION)
+                || regions.isIn(leg.getUnloadLocation(), SPECIAL_REGION);
     }
 }
@@ -0,0 +1,24 @@
+package com.github.cargoclean.core.usecase.handling;
+
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Raw (unvalidated) parameters of a handling event to register as a part of a batch.
+ *
+ * @see HandlingInputPort#recordHandlingEvents(java.util.List)
+ */
+@Value
+@Builder
+public class HandlingEventRegistration {
+
+    String voyageNumber;
+    String location;
+    String cargoId;
+    Instant completionTime;
+    HandlingEventType type;
+
+}
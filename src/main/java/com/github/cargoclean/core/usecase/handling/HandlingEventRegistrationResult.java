@@ -0,0 +1,34 @@
+package com.github.cargoclean.core.usecase.handling;
+
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Result of registering one handling event from a batch: either the recorded
+ * handling event or the reason the event was rejected.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class HandlingEventRegistrationResult {
+
+    public static HandlingEventRegistrationResult registered(int index, HandlingEvent handlingEvent) {
+        return new HandlingEventRegistrationResult(index, handlingEvent, null);
+    }
+
+    public static HandlingEventRegistrationResult rejected(int index, String error) {
+        return new HandlingEventRegistrationResult(index, null, error);
+    }
+
+    // position of the event in the batch
+    int index;
+
+    HandlingEvent handlingEvent;
+
+    String error;
+
+    public boolean isRegistered() {
+        return handlingEvent != null;
+    }
+}
@@ -1,12 +1,27 @@
 package com.github.cargoclean.core.usecase.handling;
 
+import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.model.handling.HandlingEventType;
 
 import java.time.Instant;
+import java.util.List;
 
 public interface HandlingInputPort {
     void recordHandlingEvent(String voyageNumberStr, String locationStr, String cargoIdStr,
                              Instant completionTime, HandlingEventType type);
 
+    /**
+     * Records a batch of handling events. Each event is validated separately, invalid
+     * events are rejected without affecting the others. All valid events are recorded
+     * in a single transaction.
+     *
+     * @param registrations parameters of the events to record
+     */
+    void recordHandlingEvents(List<HandlingEventRegistration> registrations);
+
     void updateDeliveryAfterHandlingActivity(String cargoIdStr);
+
+    void updateDeliveryAfterHandlingActivity(HandlingEvent handlingEvent);
+
+    void updateDeliveryAfterHandlingActivities(List<HandlingEvent> handlingEvents);
 }
@@ -5,8 +5,12 @@ import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.port.ErrorHandlingPresenterOutputPort;
 
+import java.util.List;
+
 public interface HandlingPresenterOutputPort extends ErrorHandlingPresenterOutputPort {
     void presentResultOfRegisteringHandlingEvent(TrackingId cargoId, HandlingEvent handlingEvent);
 
+    void presentResultOfRegisteringHandlingEvents(List<HandlingEventRegistrationResult> results);
+
     void presentInvalidParametersError(InvalidDomainObjectError e);
 }
@@ -19,7 +19,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.github.cargoclean.core.model.Assert.notNull;
 
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
@@ -46,43 +53,29 @@ public class HandlingUseCase implements HandlingInputPort {
 
             EventId eventId = gatewayOps.nextEventId();
 
-            // parse identifiers and create value objects: outside the transaction
+            // parse identifiers and create new handling event: outside the transaction
             // since validation does not require a consistency boundary
-            VoyageNumber voyageNumber;
-            UnLocode location;
-            TrackingId cargoId;
-            UtcDateTime completionDateTime;
+            HandlingEvent handlingEvent;
             try {
-                voyageNumber = Optional.ofNullable(voyageNumberStr)
-                        .map(VoyageNumber::of).orElse(null);
-                location = UnLocode.of(locationStr);
-                cargoId = TrackingId.of(cargoIdStr);
-                completionDateTime = UtcDateTime.of(completionTime);
+                handlingEvent = newHandlingEvent(eventId, voyageNumberStr, locationStr, cargoIdStr,
+                        completionTime, type);
             } catch (InvalidDomainObjectError e) {
                 presenter.presentInvalidParametersError(e);
                 return;
             }
-
-            // construct new handling event
-            HandlingEvent handlingEvent = HandlingEvent.builder()
-                    .eventId(eventId)
-                    .voyageNumber(voyageNumber)
-                    .location(location)
-                    .cargoId(cargoId)
-                    .completionTime(completionDateTime)
-                    .registrationTime(UtcDateTime.now())
-                    .type(type)
-                    .build();
+            TrackingId cargoId = handlingEvent.getCargoId();
 
             /*
                 Point of interest:
                 -----------------
-                Only persistence and event dispatch are wrapped in a transaction:
-                a "poor man's outbox" pattern ensuring that the handling event
-                is recorded and the domain event is dispatched atomically.
-                Event handling is performed synchronously in the same thread
-                via "TransactionalEventListener" which guarantees that events
-                are processed only after this transaction commits.
+                Only persistence and event dispatch are wrapped in a transaction,
+                so that the handling event is recorded and the domain event is
+                dispatched atomically. How the event is handled (i.e. when the
+                delivery of the cargo is updated) is up to the dispatcher: in
+                the same thread, after this transaction commits, asynchronously,
+                by a bounded executor, or via the outbox, persisted in this very
+                transaction and relayed later, possibly by another instance. In
+                any case, the delivery is updated only if this transaction commits.
              */
 
             txOps.doInTransaction(() -> {
@@ -97,6 +90,133 @@ public class HandlingUseCase implements HandlingInputPort {
 
     }
 
+    @Override
+    public void recordHandlingEvents(List<HandlingEventRegistration> registrations) {
+
+        try {
+
+            // make sure user is a manager
+            securityOps.assertThatUserIsManager();
+
+            // parse each registration separately, invalid ones are rejected
+            HandlingEventRegistrationResult[] results = new HandlingEventRegistrationResult[registrations.size()];
+            Map<Integer, ParsedRegistration> parsedRegistrations = new LinkedHashMap<>();
+            for (int i = 0; i < registrations.size(); i++) {
+                try {
+                    parsedRegistrations.put(i, ParsedRegistration.of(registrations.get(i)));
+                } catch (InvalidDomainObjectError e) {
+                    results[i] = HandlingEventRegistrationResult.rejected(i, e.getMessage());
+                }
+            }
+
+            // check that all locations and all cargoes exist, with a single query each
+            Set<UnLocode> knownLocations = gatewayOps.locationsByUnLocodes(parsedRegistrations.values().stream()
+                            .map(ParsedRegistration::location)
+                            .collect(Collectors.toSet()))
+                    .keySet();
+            Set<TrackingId> existingCargoes = gatewayOps.existingTrackingIds(parsedRegistrations.values().stream()
+                    .filter(parsed -> knownLocations.contains(parsed.location()))
+                    .map(ParsedRegistration::cargoId)
+                    .collect(Collectors.toSet()));
+            parsedRegistrations.entrySet().removeIf(entry -> {
+                ParsedRegistration parsed = entry.getValue();
+                if (!knownLocations.contains(parsed.location())) {
+                    results[entry.getKey()] = HandlingEventRegistrationResult.rejected(entry.getKey(),
+                            "Unknown location: %s".formatted(parsed.location()));
+                    return true;
+                }
+                if (!existingCargoes.contains(parsed.cargoId())) {
+                    results[entry.getKey()] = HandlingEventRegistrationResult.rejected(entry.getKey(),
+                            "Unknown cargo: %s".formatted(parsed.cargoId()));
+                    return true;
+                }
+                return false;
+            });
+
+            // IDs are allocated only for the events which are going to be recorded
+            List<EventId> eventIds = parsedRegistrations.isEmpty() ? List.of()
+                    : gatewayOps.nextEventIds(parsedRegistrations.size());
+            Map<Integer, HandlingEvent> validEvents = new LinkedHashMap<>();
+            int eventIdIndex = 0;
+            for (Map.Entry<Integer, ParsedRegistration> entry : parsedRegistrations.entrySet()) {
+                HandlingEvent handlingEvent = entry.getValue().toHandlingEvent(eventIds.get(eventIdIndex++));
+                validEvents.put(entry.getKey(), handlingEvent);
+                results[entry.getKey()] = HandlingEventRegistrationResult.registered(entry.getKey(), handlingEvent);
+            }
+
+            if (validEvents.isEmpty()) {
+                presenter.presentResultOfRegisteringHandlingEvents(List.of(results));
+                return;
+            }
+
+            /*
+                Point of interest:
+                -----------------
+                All valid events are persisted (in a batch) and dispatched in a single
+                transaction, same as for a single event.
+             */
+
+            List<HandlingEvent> handlingEvents = List.copyOf(validEvents.values());
+            txOps.doInTransaction(() -> {
+                gatewayOps.recordHandlingEvents(handlingEvents);
+                handlingEvents.forEach(eventsOps::dispatch);
+                txOps.doAfterCommit(() -> presenter.presentResultOfRegisteringHandlingEvents(List.of(results)));
+            });
+
+        } catch (Exception e) {
+            presenter.presentError(e);
+        }
+
+    }
+
+    private HandlingEvent newHandlingEvent(EventId eventId, String voyageNumberStr, String locationStr,
+                                           String cargoIdStr, Instant completionTime, HandlingEventType type) {
+        VoyageNumber voyageNumber = Optional.ofNullable(voyageNumberStr)
+                .map(VoyageNumber::of).orElse(null);
+        UnLocode location = UnLocode.of(locationStr);
+        TrackingId cargoId = TrackingId.of(cargoIdStr);
+        UtcDateTime completionDateTime = UtcDateTime.of(completionTime);
+
+        return HandlingEvent.builder()
+                .eventId(eventId)
+                .voyageNumber(voyageNumber)
+                .location(location)
+                .cargoId(cargoId)
+                .completionTime(completionDateTime)
+                .registrationTime(UtcDateTime.now())
+                .type(type)
+                .build();
+    }
+
+    /*
+        Identifiers and values of a registration, parsed and validated before
+        an event ID is allocated for the new handling event.
+     */
+    private record ParsedRegistration(VoyageNumber voyageNumber, UnLocode location, TrackingId cargoId,
+                                      UtcDateTime completionTime, HandlingEventType type) {
+
+        static ParsedRegistration of(HandlingEventRegistration registration) {
+            return new ParsedRegistration(Optional.ofNullable(registration.getVoyageNumber())
+                    .map(VoyageNumber::of).orElse(null),
+                    UnLocode.of(registration.getLocation()),
+                    TrackingId.of(registration.getCargoId()),
+                    UtcDateTime.of(notNull(registration.getCompletionTime())),
+                    notNull(registration.getType()));
+        }
+
+        HandlingEvent toHandlingEvent(EventId eventId) {
+            return HandlingEvent.builder()
+                    .eventId(eventId)
+                    .voyageNumber(voyageNumber)
+                    .location(location)
+                    .cargoId(cargoId)
+                    .completionTime(completionTime)
+                    .registrationTime(UtcDateTime.now())
+                    .type(type)
+                    .build();
+        }
+    }
+
     @Override
     public void updateDeliveryAfterHandlingActivity(String cargoIdStr) {
 
@@ -126,4 +246,38 @@ public class HandlingUseCase implements HandlingInputPort {
             presenter.presentError(e);
         }
     }
+
+    @Override
+    public void updateDeliveryAfterHandlingActivity(HandlingEvent handlingEvent) {
+        updateDeliveryAfterHandlingActivities(List.of(handlingEvent));
+    }
+
+    @Override
+    public void updateDeliveryAfterHandlingActivities(List<HandlingEvent> handlingEvents) {
+
+        try {
+
+            // all events are for the same cargo
+            TrackingId trackingId = handlingEvents.get(0).getCargoId();
+
+            // retrieve cargo
+            Cargo cargo = gatewayOps.obtainCargoByTrackingId(trackingId);
+
+            /*
+                Point of interest:
+                -----------------
+                Delivery is updated from the new handling events alone, handling
+                history of the cargo is loaded only if the events arrived out of
+                order (by their completion time). Several events recorded in a quick
+                succession result in a single update of the cargo.
+             */
+            Cargo updatedCargo = cargo.updateDeliveryProgress(handlingEvents,
+                    () -> gatewayOps.handlingHistory(trackingId));
+
+            // save cargo aggregate
+            gatewayOps.saveCargo(updatedCargo);
+        } catch (Exception e) {
+            presenter.presentError(e);
+        }
+    }
 }
@@ -7,4 +7,9 @@ public interface ReportInputPort {
      */
     void reportExpectedArrivals();
 
+    /**
+     * Recount expected arrivals by city from all cargoes and report them.
+     */
+    void rebuildExpectedArrivals();
+
 }
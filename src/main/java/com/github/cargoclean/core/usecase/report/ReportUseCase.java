@@ -2,6 +2,7 @@ package com.github.cargoclean.core.usecase.report;
 
 import com.github.cargoclean.core.model.report.ExpectedArrivals;
 import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
+import com.github.cargoclean.core.port.security.SecurityOutputPort;
 import com.github.cargoclean.core.port.transaction.TransactionOperationsOutputPort;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,8 @@ public class ReportUseCase implements ReportInputPort {
 
     ReportPresenterOutputPort presenter;
 
+    SecurityOutputPort securityOps;
+
     PersistenceGatewayOutputPort gatewayOps;
 
     TransactionOperationsOutputPort txOps;
@@ -36,4 +39,24 @@ public class ReportUseCase implements ReportInputPort {
         }
 
     }
+
+    @Override
+    public void rebuildExpectedArrivals() {
+
+        try {
+
+            txOps.doInTransaction(() -> {
+                securityOps.assertThatUserIsManager();
+
+                // recount expected arrivals from all the cargoes
+                final List<ExpectedArrivals> expectedArrivals = gatewayOps.rebuildExpectedArrivals();
+
+                txOps.doAfterCommit(() -> presenter.presentExpectedArrivals(expectedArrivals));
+            });
+
+        } catch (Exception e) {
+            presenter.presentError(e);
+        }
+
+    }
 }
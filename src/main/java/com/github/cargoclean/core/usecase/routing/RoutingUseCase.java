@@ -113,7 +113,7 @@ public class RoutingUseCase implements RoutingInputPort {
                  */
 
                 securityOps.assertThatUserHasPermissionToRouteCargoThroughRegions(itinerary,
-                        gatewayOps.allRegionsMap());
+                        gatewayOps.regionIndex());
 
                 // actually route this cargo
                 Cargo routedCargo = cargo.assignItinerary(itinerary);
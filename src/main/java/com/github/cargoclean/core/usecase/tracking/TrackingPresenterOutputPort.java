@@ -12,5 +12,5 @@ public interface TrackingPresenterOutputPort extends ErrorHandlingPresenterOutpu
     void presentInitialViewForCargoTracking();
 
     void presentCargoTrackingInformation(Cargo cargo, HandlingHistory handlingHistory,
-                                         Map<UnLocode, Location> allLocationsMap);
+                                         Map<UnLocode, Location> locations);
 }
@@ -1,6 +1,8 @@
 package com.github.cargoclean.core.usecase.tracking;
 
 import com.github.cargoclean.core.model.cargo.Cargo;
+import com.github.cargoclean.core.model.cargo.Delivery;
+import com.github.cargoclean.core.model.cargo.HandlingActivity;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.handling.HandlingHistory;
 import com.github.cargoclean.core.model.location.Location;
@@ -12,7 +14,10 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
@@ -57,17 +62,20 @@ public class TrackingUseCase implements TrackingInputPort {
                     -----------------
                     Since we have modeled "Cargo" aggregate with
                     "UnLocode"s (IDs), and not references to
-                    "Location", we need to load all "Locations"
+                    "Location", we need to load the "Locations"
                     and pass them to the presenter.
                     In the original, "DDDSample", this is different since
                     "Cargo" aggregate directly references "Location",
                     which is loaded by the ORM.
+                    We load only the locations referenced by the cargo
+                    and its handling history, all at once.
                  */
 
-                // load all locations and make a map of UnLocode to Locations
-                Map<UnLocode, Location> allLocationsMap = gatewayOps.allLocationsMap();
+                // load referenced locations and make a map of UnLocode to Locations
+                Map<UnLocode, Location> locations = gatewayOps.locationsByUnLocodes(
+                        referencedLocations(cargo, handlingHistory));
 
-                txOps.doAfterCommit(() -> presenter.presentCargoTrackingInformation(cargo, handlingHistory, allLocationsMap));
+                txOps.doAfterCommit(() -> presenter.presentCargoTrackingInformation(cargo, handlingHistory, locations));
             });
 
         } catch (Exception e) {
@@ -75,4 +83,28 @@ public class TrackingUseCase implements TrackingInputPort {
         }
 
     }
+
+    private Set<UnLocode> referencedLocations(Cargo cargo, HandlingHistory handlingHistory) {
+        Set<UnLocode> unLocodes = new HashSet<>();
+
+        unLocodes.add(cargo.getOrigin());
+        unLocodes.add(cargo.getRouteSpecification().getOrigin());
+        unLocodes.add(cargo.getRouteSpecification().getDestination());
+
+        // itinerary is null before cargo is routed
+        Optional.ofNullable(cargo.getItinerary()).ifPresent(itinerary -> itinerary.getLegs().forEach(leg -> {
+            unLocodes.add(leg.getLoadLocation());
+            unLocodes.add(leg.getUnloadLocation());
+        }));
+
+        Delivery delivery = cargo.getDelivery();
+        Optional.ofNullable(delivery.getLastKnownLocation()).ifPresent(unLocodes::add);
+        Optional.ofNullable(delivery.getNextExpectedActivity())
+                .map(HandlingActivity::getLocation)
+                .ifPresent(unLocodes::add);
+
+        handlingHistory.historyOfEvents().forEach(event -> unLocodes.add(event.getLocation()));
+
+        return unLocodes;
+    }
 }
@@ -2,6 +2,6 @@ package com.github.cargoclean.core.usecase.welcome;
 
 public interface WelcomeInputPort {
 
-    void welcome();
+    void welcome(String afterTrackingId, String routingStatus, String destination);
 
 }
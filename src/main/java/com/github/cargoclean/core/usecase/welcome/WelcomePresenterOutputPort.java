@@ -1,12 +1,11 @@
 package com.github.cargoclean.core.usecase.welcome;
 
-import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
 import com.github.cargoclean.core.port.ErrorHandlingPresenterOutputPort;
 
-import java.util.List;
-
 public interface WelcomePresenterOutputPort extends ErrorHandlingPresenterOutputPort {
 
-    void presentHomePage(String username, List<CargoInfo> cargoes);
+    void presentHomePage(String username, CargoInfoCriteria criteria, CargoInfoPage cargoes);
 
 }
@@ -1,6 +1,10 @@
 package com.github.cargoclean.core.usecase.welcome;
 
-import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
+import com.github.cargoclean.core.model.cargo.RoutingStatus;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
 import com.github.cargoclean.core.port.security.SecurityOutputPort;
 import com.github.cargoclean.core.port.transaction.TransactionOperationsOutputPort;
@@ -8,7 +12,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
-import java.util.List;
+import java.util.Optional;
 
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
@@ -23,16 +27,24 @@ public class WelcomeUseCase implements WelcomeInputPort {
     TransactionOperationsOutputPort txOps;
 
     @Override
-    public void welcome() {
+    public void welcome(String afterTrackingId, String routingStatus, String destination) {
         try {
 
+            // optional page key and filters, blank values are ignored
+            final CargoInfoCriteria criteria = CargoInfoCriteria.builder()
+                    .after(nonBlank(afterTrackingId).map(TrackingId::of).orElse(null))
+                    .routingStatus(nonBlank(routingStatus).map(RoutingStatus::valueOf).orElse(null))
+                    .destination(nonBlank(destination).map(UnLocode::of).orElse(null))
+                    .build();
+
             txOps.doInTransaction(true, () -> {
 
                 final String username = securityOps.username().orElse(null);
 
-                final List<CargoInfo> cargoes = gatewayOps.allCargoes();
+                // load only one page of cargoes
+                final CargoInfoPage cargoes = gatewayOps.cargoInfoPage(criteria);
 
-                txOps.doAfterCommit(() -> presenter.presentHomePage(username, cargoes));
+                txOps.doAfterCommit(() -> presenter.presentHomePage(username, criteria, cargoes));
             });
 
         } catch (Exception e) {
@@ -40,4 +52,8 @@ public class WelcomeUseCase implements WelcomeInputPort {
         }
 
     }
+
+    private Optional<String> nonBlank(String value) {
+        return Optional.ofNullable(value).filter(v -> !v.isBlank());
+    }
 }
@@ -5,12 +5,21 @@ package com.github.cargoclean.infrastructure.adapter.cache;
  * Designed to be called from within an active transaction context.
  * When called outside a transaction, implementations should be a no-op.
  */
-@FunctionalInterface
 public interface CacheInvalidationOnRollback {
 
     /**
-     * Registers a synchronization callback that will clear all caches
-     * if the current transaction is rolled back.
+     * Registers a synchronization callback that will evict all the cache
+     * entries touched in the current transaction if it is rolled back.
      */
     void register();
+
+    /**
+     * Records that the entry with the {@code key} in the cache {@code cacheName} was
+     * updated in the current transaction (with a value which may not be committed).
+     * Registers the synchronization callback, if not yet registered.
+     *
+     * @param cacheName name of the cache
+     * @param key       key of the entry
+     */
+    void touched(String cacheName, Object key);
 }
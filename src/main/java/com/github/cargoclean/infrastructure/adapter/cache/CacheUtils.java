@@ -1,9 +1,20 @@
 package com.github.cargoclean.infrastructure.adapter.cache;
 
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 /**
  * Helper class with static methods to work with {@linkplain CacheManager}.
@@ -21,4 +32,82 @@ public class CacheUtils {
                 .orElseThrow().invalidate());
     }
 
+    /**
+     * Puts all entries into the given {@code cache}. Spring's {@link Cache} abstraction
+     * does not offer a bulk operation, so we use the native cache (Caffeine or a
+     * {@code Map}) directly, if possible. Falls back to putting the entries one by one.
+     *
+     * @param cache   cache to update
+     * @param entries entries to put into the cache
+     */
+    @SuppressWarnings("unchecked")
+    public static void putAll(Cache cache, Map<Object, Object> entries) {
+        final Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeineCache).putAll(entries);
+        } else if (nativeCache instanceof Map<?, ?> mapCache) {
+            ((Map<Object, Object>) mapCache).putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+
+    /**
+     * Atomically replaces the value cached for the {@code key}, if there is one, with the
+     * result of {@code remappingFunction}. Uses the native cache (Caffeine or a {@code ConcurrentMap})
+     * if possible, otherwise, when the update cannot be atomic, just evicts the key.
+     *
+     * @param cache             cache to update
+     * @param key               key of the entry to update
+     * @param remappingFunction computes the new value from the cached one
+     * @param <V>               type of the cached values
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> void computeIfPresent(Cache cache, Object key, UnaryOperator<V> remappingFunction) {
+        final Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, V>) caffeineCache).asMap()
+                    .computeIfPresent(key, (k, value) -> remappingFunction.apply(value));
+        } else if (nativeCache instanceof ConcurrentMap<?, ?> mapCache) {
+            ((ConcurrentMap<Object, V>) mapCache).computeIfPresent(key, (k, value) -> remappingFunction.apply(value));
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Returns the values cached for all the {@code keys}, loading the missing ones (at once)
+     * with {@code bulkLoader}. If the native cache is a Caffeine {@code LoadingCache}, its own
+     * (bulk) loader is used and concurrent loads of the same keys are coalesced. The keys
+     * which could not be loaded are absent from the returned map.
+     *
+     * @param cache      cache to query
+     * @param keys       keys to look up
+     * @param bulkLoader loads the values for the missing keys
+     * @return map of the values by the keys
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<Object, Object> getAll(Cache cache, Collection<?> keys,
+                                             Function<Set<Object>, Map<Object, Object>> bulkLoader) {
+        final Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof LoadingCache<?, ?> loadingCache) {
+            return ((LoadingCache<Object, Object>) loadingCache).getAll(keys);
+        } else if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeineCache).getAll(keys,
+                    missingKeys -> bulkLoader.apply(StreamSupport.stream(missingKeys.spliterator(), false)
+                            .collect(Collectors.toSet())));
+        }
+
+        final Map<Object, Object> values = new HashMap<>();
+        final Set<Object> missingKeys = new HashSet<>();
+        keys.forEach(key -> Optional.ofNullable(cache.get(key))
+                .ifPresentOrElse(valueWrapper -> values.put(key, valueWrapper.get()), () -> missingKeys.add(key)));
+        if (!missingKeys.isEmpty()) {
+            final Map<Object, Object> loadedValues = bulkLoader.apply(missingKeys);
+            putAll(cache, loadedValues);
+            values.putAll(loadedValues);
+        }
+        return values;
+    }
+
 }
@@ -0,0 +1,121 @@
+package com.github.cargoclean.infrastructure.adapter.cache;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
+import com.github.cargoclean.infrastructure.adapter.db.handling.RecentlyHandledCargoesQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.location.AllUnlocodesQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationCacheLoader;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/*
+    References:
+    ----------
+
+    1.  Spring Boot, application availability: https://docs.spring.io/spring-boot/docs/2.7.x/reference/html/features.html#features.spring-application.application-availability
+ */
+
+/**
+ * Preloads the caches when the application starts: all the locations and, optionally,
+ * the most recently handled cargoes (with their handling histories), in parallel.
+ * <p>
+ * The warm-up runs in the listener of {@link ApplicationReadyEvent}: Spring Boot changes
+ * the readiness state of the application to {@code ACCEPTING_TRAFFIC} only after all the
+ * listeners of this event have returned, so the readiness probe reports the application as
+ * not ready until the caches are warmed up. If the warm-up fails, the caches will be loaded
+ * on demand, as usual.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+public class CacheWarmUp {
+
+    CargoCleanProperties props;
+    CacheManager cacheManager;
+    LocationCacheLoader locationCacheLoader;
+    NamedParameterJdbcOperations queryTemplate;
+    PersistenceGatewayOutputPort gatewayOps;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        CargoCleanProperties.WarmUp warmUpProps = props.getWarmUp();
+        if (!warmUpProps.isEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(warmUpProps.getParallelism(),
+                new CustomizableThreadFactory("cache-warm-up-"));
+        try {
+            int locations = warmUpLocations(executor, warmUpProps.getParallelism());
+            int cargoes = warmUpRecentCargoes(executor, warmUpProps.getRecentCargoes());
+            log.info("[Cache] Warmed up caches with {} locations and {} cargoes in {} ms", locations, cargoes,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (Exception e) {
+            log.warn("[Cache] Cannot warm up caches, they will be loaded on demand", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int warmUpLocations(ExecutorService executor, int parallelism) {
+        List<UnLocode> unlocodes = queryTemplate.query(AllUnlocodesQueryRow.SQL,
+                        AllUnlocodesQueryRow.ROW_MAPPER)
+                .stream().map(AllUnlocodesQueryRow::getUnlocode)
+                .map(UnLocode::of)
+                .toList();
+        Cache locationCache = Optional.ofNullable(cacheManager.getCache(props.getLocationCache().getName()))
+                .orElseThrow(() -> new IllegalStateException("Cache %s not found"
+                        .formatted(props.getLocationCache().getName())));
+
+        // split locations into chunks, each one is loaded in bulk, all chunks in parallel
+        int chunkSize = Math.max(1, (unlocodes.size() + parallelism - 1) / parallelism);
+        CompletableFuture.allOf(IntStream.iterate(0, from -> from < unlocodes.size(), from -> from + chunkSize)
+                .mapToObj(from -> unlocodes.subList(from, Math.min(from + chunkSize, unlocodes.size())))
+                .map(chunk -> CompletableFuture.runAsync(() -> CacheUtils.getAll(locationCache, chunk,
+                        locationCacheLoader::loadAll), executor))
+                .toArray(CompletableFuture[]::new)).join();
+        return unlocodes.size();
+    }
+
+    private int warmUpRecentCargoes(ExecutorService executor, int recentCargoes) {
+        if (recentCargoes <= 0) {
+            return 0;
+        }
+
+        List<TrackingId> trackingIds = queryTemplate.query(RecentlyHandledCargoesQueryRow.SQL,
+                        Map.of("limit", recentCargoes),
+                        RecentlyHandledCargoesQueryRow.ROW_MAPPER)
+                .stream().map(row -> TrackingId.of(row.getCargoId()))
+                .toList();
+
+        CompletableFuture.allOf(trackingIds.stream()
+                .map(trackingId -> CompletableFuture.runAsync(() -> {
+                    gatewayOps.obtainCargoByTrackingId(trackingId);
+                    gatewayOps.handlingHistory(trackingId);
+                }, executor))
+                .toArray(CompletableFuture[]::new)).join();
+        return trackingIds.size();
+    }
+}
@@ -1,8 +1,8 @@
 package com.github.cargoclean.infrastructure.adapter.cache;
 
-import com.github.cargoclean.infrastructure.adapter.cache.CacheUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
@@ -10,35 +10,84 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
 /**
- * Registers a transaction synchronization callback which will
- * clear all caches after a rollback of a transaction.
+ * Registers a transaction synchronization callback which will evict
+ * the cache entries touched in a transaction after its rollback.
  * This keeps cache invalidation concerns within the caching layer
  * rather than coupling them to the transaction adapter.
- *
- * @see CacheUtils#clearAllCaches(CacheManager)
+ * <p>
+ * Touched entries are recorded in a change set bound to the current
+ * transaction, so a rollback evicts only them: other entries (i.e. all
+ * the cached locations) stay in the cache.
  */
 @Component
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-@RequiredArgsConstructor
 @Slf4j
 public class SpringCacheInvalidationOnRollback implements CacheInvalidationOnRollback {
 
     CacheManager cacheManager;
 
+    DistributionSummary evictionsPerRollback;
+
+    public SpringCacheInvalidationOnRollback(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.evictionsPerRollback = DistributionSummary.builder("cargo.cache.rollback.evictions")
+                .description("Number of cache entries evicted after a rollback of a transaction")
+                .register(meterRegistry);
+    }
+
     @Override
     public void register() {
-        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
-            return;
+        changeSet();
+    }
+
+    @Override
+    public void touched(String cacheName, Object key) {
+        changeSet().ifPresent(changeSet -> changeSet.add(new CacheEntryKey(cacheName, key)));
+    }
+
+    /*
+        Change set of the current transaction, bound as a transactional resource
+        (with this object as the key) together with the synchronization which
+        unbinds it when the transaction completes.
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<Set<CacheEntryKey>> changeSet() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.empty();
+        }
+
+        Set<CacheEntryKey> changeSet = (Set<CacheEntryKey>) TransactionSynchronizationManager.getResource(this);
+        if (changeSet != null) {
+            return Optional.of(changeSet);
         }
+
+        Set<CacheEntryKey> newChangeSet = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, newChangeSet);
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SpringCacheInvalidationOnRollback.this);
                 if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
-                    log.debug("[Cache] Clearing all caches on rollback");
-                    CacheUtils.clearAllCaches(cacheManager);
+                    evict(newChangeSet);
                 }
             }
         });
+        return Optional.of(newChangeSet);
+    }
+
+    private void evict(Set<CacheEntryKey> changeSet) {
+        log.debug("[Cache] Evicting {} cache entries on rollback", changeSet.size());
+        changeSet.forEach(entryKey -> Optional.ofNullable(cacheManager.getCache(entryKey.cacheName()))
+                .ifPresent(cache -> cache.evict(entryKey.key())));
+        evictionsPerRollback.record(changeSet.size());
+    }
+
+    private record CacheEntryKey(String cacheName, Object key) {
     }
 }
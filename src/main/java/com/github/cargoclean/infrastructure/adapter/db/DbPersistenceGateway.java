@@ -20,6 +20,8 @@ package com.github.cargoclean.infrastructure.adapter.db;
 
 import com.github.cargoclean.core.model.cargo.Cargo;
 import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.consignment.Consignment;
 import com.github.cargoclean.core.model.consignment.ConsignmentId;
@@ -27,18 +29,31 @@ import com.github.cargoclean.core.model.handling.EventId;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
 import com.github.cargoclean.core.model.handling.HandlingHistory;
 import com.github.cargoclean.core.model.location.Location;
+import com.github.cargoclean.core.model.location.RegionIndex;
 import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.core.model.report.ExpectedArrivals;
 import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
 import com.github.cargoclean.core.port.persistence.PersistenceOperationError;
+import com.github.cargoclean.infrastructure.adapter.cache.CacheInvalidationOnRollback;
+import com.github.cargoclean.infrastructure.adapter.cache.CacheUtils;
 import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoDbEntity;
 import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoDbEntityRepository;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoDestinationQueryRow;
 import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoInfoRow;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoVersionQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.DeliveryDbEntity;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.ExistingTrackingIdsQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.HandlingActivityDbEntity;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.LegDbEntity;
+import com.github.cargoclean.infrastructure.adapter.db.cargo.RouteSpecificationDbEntity;
 import com.github.cargoclean.infrastructure.adapter.db.consigment.ConsignmentDbEntity;
 import com.github.cargoclean.infrastructure.adapter.db.consigment.ConsignmentDbEntityRepository;
+import com.github.cargoclean.infrastructure.adapter.db.handling.CachedHandlingHistory;
 import com.github.cargoclean.infrastructure.adapter.db.handling.HandlingEventEntity;
 import com.github.cargoclean.infrastructure.adapter.db.handling.HandlingEventEntityRepository;
+import com.github.cargoclean.infrastructure.adapter.db.handling.HandlingHistoryStampQueryRow;
 import com.github.cargoclean.infrastructure.adapter.db.location.AllUnlocodesQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationCacheLoader;
 import com.github.cargoclean.infrastructure.adapter.db.location.LocationDbEntityRepository;
 import com.github.cargoclean.infrastructure.adapter.db.location.LocationExistsQueryRow;
 import com.github.cargoclean.infrastructure.adapter.db.map.DbEntityMapper;
@@ -47,19 +62,36 @@ import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.dao.DataAccessException;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Default implementation of the persistence gateway. It uses one Spring Data JDBC
@@ -77,6 +109,11 @@ import java.util.UUID;
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
+    // must be the same as the increment of "handling_event_id_seq"
+    static final int EVENT_ID_BLOCK_SIZE = 100;
+
+    private static final String NEXT_EVENT_ID_BLOCK_SQL = "select nextval('handling_event_id_seq')";
+
     LocationDbEntityRepository locationRepository;
     CargoDbEntityRepository cargoRepository;
     HandlingEventEntityRepository handlingEventRepository;
@@ -85,6 +122,24 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
     CacheManager cacheManager;
     CargoCleanProperties props;
     ConsignmentDbEntityRepository consignmentRepository;
+    CacheInvalidationOnRollback cacheInvalidationOnRollback;
+    LocationCacheLoader locationCacheLoader;
+    StreamingQueries streamingQueries;
+
+    /*
+        Point of interest:
+        -----------------
+        Event IDs are allocated in blocks from a database sequence, so we
+        do not hit the database for each new event, and IDs do not collide
+        between several instances of the application.
+     */
+    PooledSequenceIdGenerator eventIdGenerator = new PooledSequenceIdGenerator(EVENT_ID_BLOCK_SIZE,
+            this::nextEventIdBlock);
+
+    Object regionIndexLock = new Object();
+
+    @NonFinal
+    volatile RegionIndexSnapshot regionIndexSnapshot;
 
     @Override
     public TrackingId nextTrackingId() {
@@ -108,10 +163,23 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
     @Override
     public EventId nextEventId() {
+        return EventId.of(eventIdGenerator.nextId());
+    }
 
-        // Just for demo, should probably be based on a UUID instead.
+    @Override
+    public List<EventId> nextEventIds(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> nextEventId())
+                .toList();
+    }
 
-        return EventId.of(System.currentTimeMillis());
+    private long nextEventIdBlock() {
+        try {
+            return Optional.ofNullable(queryTemplate.queryForObject(NEXT_EVENT_ID_BLOCK_SQL, Map.of(), Long.class))
+                    .orElseThrow();
+        } catch (Exception e) {
+            throw new PersistenceOperationError("Cannot allocate a new block of event IDs", e);
+        }
     }
 
 
@@ -121,6 +189,8 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
         1.  We are loading all "LocationDbEntity" and converting
             them to models only if they are not already in the cache.
+        2.  All missing "LocationDbEntity" are loaded with one query,
+            by the loader of the cache.
      */
 
     @Transactional(readOnly = true)
@@ -136,29 +206,104 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
              */
 
             List<UnLocode> unlocodes = queryTemplate.query(AllUnlocodesQueryRow.SQL,
-                            new BeanPropertyRowMapper<>(AllUnlocodesQueryRow.class))
+                            AllUnlocodesQueryRow.ROW_MAPPER)
                     .stream().map(AllUnlocodesQueryRow::getUnlocode)
                     .map(UnLocode::of)
                     .toList();
 
-            /*
-                For each UnLocode, first see if there is a corresponding Location
-                already in the cache, if not, then load Location DB entity and
-                convert it to Location model updating the cache in the process.
-             */
-            Cache cache = getLocationCache();
-            return unlocodes.stream()
-                    .map(unLocode -> cache.get(new SimpleKey(unLocode),
-                            () -> locationRepository.findById(unLocode.getCode())
-                                    .map(dbMapper::convert)
-                                    .orElseThrow(() -> new PersistenceOperationError(
-                                            "No location found for %s in the database".formatted(unLocode)))
-                    )).toList();
+            return cachedLocations(unlocodes);
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot retrieve all locations", e);
         }
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<UnLocode, Location> locationsByUnLocodes(Set<UnLocode> unLocodes) {
+        try {
+            // locations which are not in the database are just not in the result
+            return CacheUtils.getAll(getLocationCache(), unLocodes, locationCacheLoader::loadAll)
+                    .values().stream()
+                    .map(Location.class::cast)
+                    .collect(Collectors.toMap(Location::getUnlocode, Function.identity()));
+        } catch (Exception e) {
+            throw new PersistenceOperationError("Cannot retrieve locations with unLocodes: <%s>"
+                    .formatted(unLocodes), e);
+        }
+    }
+
+    private List<Location> cachedLocations(Collection<UnLocode> unlocodes) {
+        /*
+            Point of interest:
+            -----------------
+            Get all locations from the cache at once: all the UnLocodes
+            which are not in the cache yet are loaded with a single
+            set-based query (see "LocationCacheLoader"), instead of doing
+            a lookup for each of them. Requests missing the same locations
+            at the same time wait for the same load.
+         */
+        Map<Object, Object> locations = CacheUtils.getAll(getLocationCache(), unlocodes,
+                locationCacheLoader::loadAll);
+
+        return unlocodes.stream()
+                .map(unLocode -> Optional.ofNullable((Location) locations.get(unLocode))
+                        .orElseThrow(() -> new PersistenceOperationError(
+                                "No location found for %s in the database".formatted(unLocode))))
+                .toList();
+    }
+
+    /*
+        Point of interest:
+        -----------------
+        Index of regions is built from the locations in the database and
+        then replaced by a new snapshot each time a location is saved.
+        Readers just get the current snapshot, without any locking.
+        Building the index and updating it are done under the same lock,
+        so an update committed while the index is being built is not lost.
+
+        Locations may also be saved by another instance of the application,
+        and the index is used by a security check, so the snapshot expires
+        after a (short) TTL and is then rebuilt. It is rebuilt directly
+        from the database, not from the location cache, which may be
+        older than the TTL.
+     */
+
+    @Override
+    public RegionIndex regionIndex() {
+        RegionIndexSnapshot snapshot = regionIndexSnapshot;
+        if (snapshot != null && !snapshot.isExpired()) {
+            return snapshot.index();
+        }
+        synchronized (regionIndexLock) {
+            if (regionIndexSnapshot == null || regionIndexSnapshot.isExpired()) {
+                regionIndexSnapshot = new RegionIndexSnapshot(RegionIndex.of(loadAllLocations()),
+                        System.nanoTime() + props.getRegionIndex().getTtl().toNanos());
+            }
+            return regionIndexSnapshot.index();
+        }
+    }
+
+    private List<Location> loadAllLocations() {
+        try {
+            return StreamSupport.stream(locationRepository.findAll().spliterator(), false)
+                    .map(dbMapper::convert)
+                    .toList();
+        } catch (Exception e) {
+            throw new PersistenceOperationError("Cannot load all locations to index their regions", e);
+        }
+    }
+
+    private record RegionIndexSnapshot(RegionIndex index, long expiresAtNanos) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        RegionIndexSnapshot withLocation(Location location) {
+            return new RegionIndexSnapshot(index.withLocation(location), expiresAtNanos);
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Location obtainLocationByUnLocode(UnLocode unLocode) {
@@ -168,10 +313,10 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
                 there, load DB entity from the database and convert to
                 the model.
              */
-            return getLocationCache().get(new SimpleKey(unLocode),
-                    () -> dbMapper.convert(locationRepository.findById(unLocode.getCode())
+            return getLocationCache().get(unLocode,
+                    () -> Optional.ofNullable((Location) locationCacheLoader.load(unLocode))
                             .orElseThrow(() -> new PersistenceOperationError(
-                                    "No location found for %s in the database".formatted(unLocode)))));
+                                    "No location found for %s in the database".formatted(unLocode))));
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot obtain location with unLocode: <%s>"
                     .formatted(unLocode), e);
@@ -184,9 +329,23 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
         try {
             final CargoDbEntity cargoDbEntity = dbMapper.convert(cargoToSave);
-
-            // save cargo
-            cargoRepository.save(cargoDbEntity);
+            final Optional<Cargo> storedCargo = storedCargo(cargoToSave);
+            final UnLocode previousDestination = storedCargo
+                    .map(cargo -> cargo.getRouteSpecification().getDestination())
+                    .orElseGet(() -> cargoToSave.exists() ? queryForDestination(cargoToSave.getTrackingId()) : null);
+
+            // save cargo (only modified rows, if we know what is stored) and update the cache with the new version
+            final CargoDbEntity savedDbEntity = storedCargo
+                    .map(cargo -> updateModifiedRows(cargoDbEntity, dbMapper.convert(cargo)))
+                    .orElseGet(() -> cargoRepository.save(cargoDbEntity));
+            putInCache(props.getCargoCache().getName(), cargoToSave.getTrackingId(), dbMapper.convert(savedDbEntity));
+
+            // update expected arrivals, if the destination has changed
+            final UnLocode destination = cargoToSave.getRouteSpecification().getDestination();
+            if (!destination.equals(previousDestination)) {
+                Optional.ofNullable(previousDestination).ifPresent(unLocode -> addExpectedArrivals(unLocode, -1));
+                addExpectedArrivals(destination, 1);
+            }
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot save cargo with tracking ID: <%s>"
                     .formatted(cargoToSave.getTrackingId()), e);
@@ -194,12 +353,38 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
     }
 
+    /*
+        Point of interest:
+        -----------------
+        Cargo aggregates are cached, but a cached cargo is used only if
+        its version is the same as the version of the row in "cargo"
+        table. So we still hit the database for each lookup, but with
+        a single-column query by the primary key, instead of loading
+        the cargo and all of its legs. This way, the cache does not go
+        stale when the cargo is modified by another instance of the
+        application or by a transaction which has not committed yet.
+     */
+
     @Transactional(readOnly = true)
     @Override
     public Cargo obtainCargoByTrackingId(TrackingId trackingId) {
         try {
+            Integer version = queryTemplate.query(CargoVersionQueryRow.SQL,
+                            Map.of("trackingId", trackingId.getId()),
+                            CargoVersionQueryRow.ROW_MAPPER)
+                    .stream().findFirst().orElseThrow()
+                    .getVersion();
+
+            Cache cache = getCargoCache();
+            Cargo cachedCargo = cache.get(trackingId, Cargo.class);
+            if (cachedCargo != null && Objects.equals(cachedCargo.getVersion(), version)) {
+                return cachedCargo;
+            }
+
             CargoDbEntity cargoDbEntity = cargoRepository.findById(trackingId.getId()).orElseThrow();
-            return dbMapper.convert(cargoDbEntity);
+            Cargo cargo = dbMapper.convert(cargoDbEntity);
+            putInCache(props.getCargoCache().getName(), trackingId, cargo);
+            return cargo;
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot obtain cargo with tracking ID: <%s>"
                     .formatted(trackingId), e);
@@ -207,11 +392,129 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
     }
 
+    /*
+        Point of interest:
+        -----------------
+        Cargo as stored in the database, before the cargo is saved: if
+        the cargo was not modified since it was cached (same version),
+        the cached cargo is what is stored. Optimistic locking guarantees
+        that the cargo is saved only if the stored version is still
+        the same.
+     */
+    private Optional<Cargo> storedCargo(Cargo cargoToSave) {
+        // without a version, the cargo is saved by the repository (the version is checked by Spring Data JDBC)
+        if (!cargoToSave.exists() || cargoToSave.getVersion() == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(getCargoCache().get(cargoToSave.getTrackingId(), Cargo.class))
+                .filter(cachedCargo -> Objects.equals(cachedCargo.getVersion(), cargoToSave.getVersion()));
+    }
+
+    /*
+        Point of interest:
+        -----------------
+        Spring Data JDBC saves an aggregate by updating its root and then
+        deleting and reinserting all the entities of its collections: all
+        the legs of the cargo would be rewritten for each handling event,
+        even if the itinerary did not change. When we know the stored
+        cargo, we update "cargo" row and only the legs which were modified,
+        added or removed.
+     */
+    private CargoDbEntity updateModifiedRows(CargoDbEntity cargoDbEntity, CargoDbEntity storedDbEntity) {
+        if (queryTemplate.update(CargoDbEntity.UPDATE_SQL, cargoParams(cargoDbEntity)) == 0) {
+            throw new OptimisticLockingFailureException("Cargo %s with version %d was modified or deleted"
+                    .formatted(cargoDbEntity.getTrackingId(), cargoDbEntity.getVersion()));
+        }
+
+        List<LegDbEntity> legs = Optional.ofNullable(cargoDbEntity.getLegs()).orElse(List.of());
+        List<LegDbEntity> storedLegs = Optional.ofNullable(storedDbEntity.getLegs()).orElse(List.of());
+        if (!legs.equals(storedLegs)) {
+            for (int index = 0; index < legs.size(); index++) {
+                if (index >= storedLegs.size()) {
+                    queryTemplate.update(LegDbEntity.INSERT_SQL,
+                            legParams(cargoDbEntity.getTrackingId(), index, legs.get(index)));
+                } else if (!legs.get(index).equals(storedLegs.get(index))) {
+                    queryTemplate.update(LegDbEntity.UPDATE_SQL,
+                            legParams(cargoDbEntity.getTrackingId(), index, legs.get(index)));
+                }
+            }
+            if (legs.size() < storedLegs.size()) {
+                queryTemplate.update(LegDbEntity.DELETE_FROM_INDEX_SQL, Map.of(
+                        "cargoTrackingId", cargoDbEntity.getTrackingId(),
+                        "legIndex", legs.size()));
+            }
+        }
+
+        cargoDbEntity.setVersion(cargoDbEntity.getVersion() + 1);
+        return cargoDbEntity;
+    }
+
+    private SqlParameterSource cargoParams(CargoDbEntity entity) {
+        DeliveryDbEntity delivery = entity.getDelivery();
+        Optional<HandlingActivityDbEntity> nextExpectedActivity = Optional.ofNullable(delivery.getNextExpectedActivity());
+        RouteSpecificationDbEntity routeSpecification = entity.getRouteSpecification();
+        return new MapSqlParameterSource()
+                .addValue("trackingId", entity.getTrackingId())
+                .addValue("origin", entity.getOrigin())
+                .addValue("transportStatus", delivery.getTransportStatus())
+                .addValue("lastKnownLocation", delivery.getLastKnownLocation(), Types.VARCHAR)
+                .addValue("currentVoyage", delivery.getCurrentVoyage(), Types.VARCHAR)
+                .addValue("eta", toTimestamp(delivery.getEta()), Types.TIMESTAMP)
+                .addValue("routingStatus", delivery.getRoutingStatus())
+                .addValue("misdirected", delivery.isMisdirected())
+                .addValue("nextExpectedType", nextExpectedActivity.map(HandlingActivityDbEntity::getType)
+                        .orElse(null), Types.VARCHAR)
+                .addValue("nextExpectedLocation", nextExpectedActivity.map(HandlingActivityDbEntity::getLocation)
+                        .orElse(null), Types.VARCHAR)
+                .addValue("nextExpectedVoyage", nextExpectedActivity.map(HandlingActivityDbEntity::getVoyageNumber)
+                        .orElse(null), Types.VARCHAR)
+                .addValue("lastEventCompletionTime", toTimestamp(delivery.getLastEventCompletionTime()),
+                        Types.TIMESTAMP)
+                .addValue("specOrigin", routeSpecification.getOrigin())
+                .addValue("specDestination", routeSpecification.getDestination())
+                .addValue("specArrivalDeadline", toTimestamp(routeSpecification.getArrivalDeadline()))
+                .addValue("version", entity.getVersion());
+    }
+
+    private SqlParameterSource legParams(String trackingId, int index, LegDbEntity leg) {
+        return new MapSqlParameterSource()
+                .addValue("cargoTrackingId", trackingId)
+                .addValue("voyageNumber", leg.getVoyageNumber())
+                .addValue("loadLocation", leg.getLoadLocation())
+                .addValue("unloadLocation", leg.getUnloadLocation())
+                .addValue("loadTime", toTimestamp(leg.getLoadTime()))
+                .addValue("unloadTime", toTimestamp(leg.getUnloadTime()))
+                .addValue("legIndex", index);
+    }
+
+    // JDBC driver does not support "Instant"
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private UnLocode queryForDestination(TrackingId trackingId) {
+        return queryTemplate.query(CargoDestinationQueryRow.SQL,
+                        Map.of("trackingId", trackingId.getId()),
+                        CargoDestinationQueryRow.ROW_MAPPER)
+                .stream().findFirst()
+                .map(row -> UnLocode.of(row.getSpecDestination()))
+                .orElse(null);
+    }
+
+    private void addExpectedArrivals(UnLocode destination, int delta) {
+        queryTemplate.update(ExpectedArrivalsQueryRow.ADD_ARRIVALS_SQL,
+                Map.of("destination", destination.getCode(), "delta", delta));
+    }
+
     @Transactional
     @Override
     public void deleteCargo(TrackingId trackingId) {
         try {
+            Optional.ofNullable(queryForDestination(trackingId))
+                    .ifPresent(destination -> addExpectedArrivals(destination, -1));
             cargoRepository.deleteById(trackingId.getId());
+            getCargoCache().evict(trackingId);
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot delete cargo with tracking ID: <%s>"
                     .formatted(trackingId), e);
@@ -224,7 +527,7 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
 
         try {
             List<ExpectedArrivalsQueryRow> rows = queryTemplate.query(ExpectedArrivalsQueryRow.SQL,
-                    new BeanPropertyRowMapper<>(ExpectedArrivalsQueryRow.class));
+                    ExpectedArrivalsQueryRow.ROW_MAPPER);
 
             return rows.stream().map(dbMapper::convert).toList();
         } catch (DataAccessException e) {
@@ -232,31 +535,144 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
         }
     }
 
+    @Transactional
+    @Override
+    public List<ExpectedArrivals> rebuildExpectedArrivals() {
+        try {
+            queryTemplate.update(ExpectedArrivalsQueryRow.LOCK_CARGO_SQL, Map.of());
+            queryTemplate.update(ExpectedArrivalsQueryRow.DELETE_ALL_SQL, Map.of());
+            queryTemplate.update(ExpectedArrivalsQueryRow.REBUILD_SQL, Map.of());
+            return queryForExpectedArrivals();
+        } catch (DataAccessException e) {
+            throw new PersistenceOperationError("Cannot rebuild expected arrivals", e);
+        }
+    }
+
     @Transactional
     @Override
     public void recordHandlingEvent(HandlingEvent event) {
         try {
             HandlingEventEntity eventEntity = dbMapper.convert(event);
             handlingEventRepository.save(eventEntity);
+            appendToCachedHandlingHistories(List.of(event));
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot record handling event %s".formatted(event), e);
         }
     }
 
+    @Transactional
+    @Override
+    public void recordHandlingEvents(List<HandlingEvent> events) {
+        try {
+            // timestamps are converted explicitly, JDBC driver does not support "Instant"
+            SqlParameterSource[] batchArgs = events.stream()
+                    .map(dbMapper::convert)
+                    .map(entity -> new MapSqlParameterSource()
+                            .addValue("eventId", entity.getEventId())
+                            .addValue("voyageNumber", entity.getVoyageNumber())
+                            .addValue("location", entity.getLocation())
+                            .addValue("cargoId", entity.getCargoId())
+                            .addValue("completionTime", Timestamp.from(entity.getCompletionTime()))
+                            .addValue("registrationTime", Timestamp.from(entity.getRegistrationTime()))
+                            .addValue("type", entity.getType()))
+                    .toArray(SqlParameterSource[]::new);
+            queryTemplate.batchUpdate(HandlingEventEntity.INSERT_SQL, batchArgs);
+            appendToCachedHandlingHistories(events);
+        } catch (Exception e) {
+            throw new PersistenceOperationError("Cannot record a batch of %d handling events"
+                    .formatted(events.size()), e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Set<TrackingId> existingTrackingIds(Set<TrackingId> trackingIds) {
+        if (trackingIds.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            return queryTemplate.query(ExistingTrackingIdsQueryRow.SQL,
+                            Map.of("trackingIds", trackingIds.stream().map(TrackingId::getId).toList()),
+                            ExistingTrackingIdsQueryRow.ROW_MAPPER)
+                    .stream()
+                    .map(row -> TrackingId.of(row.getTrackingId()))
+                    .collect(Collectors.toUnmodifiableSet());
+        } catch (DataAccessException e) {
+            throw new PersistenceOperationError("Cannot query for existing cargoes", e);
+        }
+    }
+
+    /*
+        Point of interest:
+        -----------------
+        Handling history of each cargo is cached. When new events are
+        recorded, they are added to the cached history (if any) after
+        the transaction commits: other threads never see events which
+        may still be rolled back, and a history loaded concurrently
+        from the database (without the new events) is amended as well.
+
+        But the cache is local to each instance of the application, and
+        events may be recorded (or removed by the retention) by another
+        instance. So, like the cached cargo is checked against its version,
+        the cached history is checked against the number of the events of
+        the cargo and their greatest ID, which is a cheap (index) query.
+     */
+
     @Transactional(readOnly = true)
     @Override
     public HandlingHistory handlingHistory(TrackingId cargoId) {
         try {
-            return HandlingHistory.builder()
+            HandlingHistoryStampQueryRow stamp = queryTemplate.query(HandlingHistoryStampQueryRow.SQL,
+                            Map.of("cargoId", cargoId.getId()),
+                            HandlingHistoryStampQueryRow.ROW_MAPPER)
+                    .stream().findFirst().orElseThrow();
+
+            CachedHandlingHistory cachedHistory = getHandlingHistoryCache().get(cargoId, CachedHandlingHistory.class);
+            if (cachedHistory != null && cachedHistory.isCurrent(stamp)) {
+                return cachedHistory.getHistory();
+            }
+
+            HandlingHistory history = HandlingHistory.builder()
                     .handlingEvents(handlingEventRepository.findAllByCargoId(cargoId.getId())
                             .stream().map(dbMapper::convert).toList())
                     .build();
+            // may be loaded with the events recorded (but not committed yet) in this transaction
+            putInCache(props.getHandlingHistoryCache().getName(), cargoId, CachedHandlingHistory.of(history, stamp));
+            return history;
         } catch (Exception e) {
             throw new PersistenceOperationError("Cannot obtain handling history for cargo with tracking ID: %s"
                     .formatted(cargoId), e);
         }
     }
 
+    private void appendToCachedHandlingHistories(List<HandlingEvent> events) {
+        Runnable append = () -> events.stream()
+                .collect(Collectors.groupingBy(HandlingEvent::getCargoId, LinkedHashMap::new, Collectors.toList()))
+                .forEach((cargoId, cargoEvents) -> CacheUtils.<CachedHandlingHistory>computeIfPresent(
+                        getHandlingHistoryCache(), cargoId, cachedHistory -> cachedHistory.withEvents(cargoEvents)));
+
+        /*
+            Registered before any "TransactionalEventListener" for the events
+            (they are dispatched after being recorded), so the listeners will
+            already see the new events in the cached history.
+         */
+        afterCommit(append);
+    }
+
+    private static void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
     @Transactional(readOnly = true)
     @Override
     public boolean locationExists(Location location) {
@@ -264,7 +680,7 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
         try {
             return Optional.ofNullable(queryTemplate.queryForObject(LocationExistsQueryRow.SQL,
                             Map.of("unlocode", location.getUnlocode().getCode()),
-                            new BeanPropertyRowMapper<>(LocationExistsQueryRow.class)))
+                            LocationExistsQueryRow.ROW_MAPPER))
                     .orElseThrow().exists();
         } catch (Exception e) {
             throw new PersistenceOperationError("Error when querying if location %s exists already"
@@ -279,24 +695,65 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
         try {
             // save location and update the cache
             locationRepository.save(dbMapper.convert(location));
-            getLocationCache().put(new SimpleKey(location.getUnlocode()), location);
+            putInCache(props.getLocationCache().getName(), location.getUnlocode(), location);
+
+            // the index of regions is updated only when the location is committed
+            afterCommit(() -> {
+                synchronized (regionIndexLock) {
+                    if (regionIndexSnapshot != null) {
+                        regionIndexSnapshot = regionIndexSnapshot.withLocation(location);
+                    }
+                }
+            });
         } catch (Exception e) {
             throw new PersistenceOperationError("Error when saving location %s"
                     .formatted(location.getUnlocode()), e);
         }
     }
 
+    /*
+        Point of interest:
+        -----------------
+        Cargoes are listed with keyset pagination: the page starts after
+        the last tracking ID of the previous page, using the index on
+        "tracking_id" (or on the filtered column and "tracking_id", see
+        "V1.14__Add_cargo_listing_indexes.sql"). Unlike with "offset",
+        the database does not read and skip all the previous rows.
+        We ask for one more row than the page size to know if there is
+        a next page, and stream the rows from a cursor (see
+        "StreamingQueries") instead of materializing the whole result
+        set first. Rows are mapped by the hand-written "ROW_MAPPER" of
+        "CargoInfoRow" rather than by "BeanPropertyRowMapper", which
+        sets the properties by reflection, for each row.
+     */
+
     @Transactional(readOnly = true)
     @Override
-    public List<CargoInfo> allCargoes() {
+    public CargoInfoPage cargoInfoPage(CargoInfoCriteria criteria) {
 
         try {
-            List<CargoInfoRow> rows = queryTemplate.query(CargoInfoRow.SQL,
-                    new BeanPropertyRowMapper<>(CargoInfoRow.class));
-
-            return rows.stream().map(dbMapper::convert).toList();
+            Map<String, Object> params = new HashMap<>();
+            params.put("limit", criteria.getPageSize() + 1);
+            Optional.ofNullable(criteria.getAfter())
+                    .ifPresent(after -> params.put("after", after.getId()));
+            Optional.ofNullable(criteria.getRoutingStatus())
+                    .ifPresent(routingStatus -> params.put("routingStatus", routingStatus.name()));
+            Optional.ofNullable(criteria.getDestination())
+                    .ifPresent(destination -> params.put("destination", destination.getCode()));
+
+            List<CargoInfo> cargoes;
+            try (Stream<CargoInfoRow> rows = streamingQueries.stream(CargoInfoRow.sql(params.keySet()), params,
+                    CargoInfoRow.ROW_MAPPER)) {
+                cargoes = rows.map(dbMapper::convert).toList();
+            }
+
+            if (cargoes.size() <= criteria.getPageSize()) {
+                return new CargoInfoPage(cargoes, null);
+            }
+            List<CargoInfo> page = cargoes.subList(0, criteria.getPageSize());
+            return new CargoInfoPage(page, TrackingId.of(page.get(page.size() - 1).getTrackingId()));
         } catch (DataAccessException e) {
-            throw new PersistenceOperationError("Error when querying for information about all cargoes", e);
+            throw new PersistenceOperationError("Error when querying for information about cargoes", e);
         }
     }
 
@@ -313,8 +770,31 @@ public class DbPersistenceGateway implements PersistenceGatewayOutputPort {
         }
     }
 
+    /*
+        Point of interest:
+        -----------------
+        Each cache entry updated with a value which may not be committed
+        yet is recorded in the change set of the current transaction. If
+        the transaction rolls back, only these entries are evicted.
+     */
+    private void putInCache(String cacheName, Object key, Object value) {
+        cacheInvalidationOnRollback.touched(cacheName, key);
+        getCache(cacheName).put(key, value);
+    }
+
     private Cache getLocationCache() {
-        String cacheName = props.getLocationCache().getName();
+        return getCache(props.getLocationCache().getName());
+    }
+
+    private Cache getCargoCache() {
+        return getCache(props.getCargoCache().getName());
+    }
+
+    private Cache getHandlingHistoryCache() {
+        return getCache(props.getHandlingHistoryCache().getName());
+    }
+
+    private Cache getCache(String cacheName) {
         return Optional.ofNullable(cacheManager.getCache(cacheName))
                 .orElseThrow(() -> new IllegalStateException("Cache %s not found".formatted(cacheName)));
     }
@@ -0,0 +1,77 @@
+package com.github.cargoclean.infrastructure.adapter.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/*
+    References:
+    ----------
+
+    1.  Vlad Mihalcea, Hibernate pooled and pooled-lo identifier generators:
+        https://vladmihalcea.com/hibernate-hidden-gem-the-pooled-lo-optimizer/
+ */
+
+/**
+ * Generator of unique IDs backed by a database sequence with an increment equal to
+ * the size of a block. Each value of the sequence reserves a block of IDs for this
+ * instance of the application, so the IDs are unique across all instances using the
+ * same sequence.
+ * <p>
+ * IDs from the current block are issued with a single atomic increment, without any
+ * locking. Only the thread which finds the current block exhausted takes a lock to
+ * fetch the next block from the sequence.
+ */
+public class PooledSequenceIdGenerator {
+
+    private final int blockSize;
+
+    private final LongSupplier nextBlockStart;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(new Block(0L, 0L));
+
+    private final Object refillLock = new Object();
+
+    /**
+     * @param blockSize      number of IDs in a block, must be the increment of the sequence
+     * @param nextBlockStart returns the next value of the sequence: the first ID of a new block
+     */
+    public PooledSequenceIdGenerator(int blockSize, LongSupplier nextBlockStart) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+        this.nextBlockStart = nextBlockStart;
+    }
+
+    public long nextId() {
+        while (true) {
+            Block block = currentBlock.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhaustedBlock) {
+        synchronized (refillLock) {
+            // some other thread may have already refilled
+            if (currentBlock.get() == exhaustedBlock) {
+                long start = nextBlockStart.getAsLong();
+                currentBlock.set(new Block(start, start + blockSize));
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.cargoclean.infrastructure.adapter.db;
+
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/*
+    References:
+    ----------
+
+    1.  PostgreSQL JDBC, getting results based on a cursor: https://jdbc.postgresql.org/documentation/query/#getting-results-based-on-a-cursor
+    2.  Spring Framework, "JdbcTemplate#queryForStream": https://docs.spring.io/spring-framework/docs/5.3.x/javadoc-api/org/springframework/jdbc/core/JdbcTemplate.html#queryForStream-java.lang.String-org.springframework.jdbc.core.RowMapper-java.lang.Object...-
+ */
+
+/**
+ * Runs read queries which may return a lot of rows, without materializing all of them
+ * in memory: the rows are fetched from a forward-only cursor, {@code fetchSize} rows at
+ * a time, and mapped one by one as the stream is consumed.
+ * <p>
+ * The JDBC driver (PostgreSQL) uses a cursor only if the connection is not in auto-commit
+ * mode, so these queries must run in a (read-only) transaction, otherwise the driver
+ * silently reads the whole result set at once.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class StreamingQueries {
+
+    NamedParameterJdbcTemplate streamingTemplate;
+
+    public StreamingQueries(DataSource dataSource, CargoCleanProperties props) {
+        // same data source, so the queries run in the current transaction
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(props.getStreaming().getFetchSize());
+        this.streamingTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Returns a stream of the mapped rows, which must be closed by the caller (to close
+     * the cursor), before the end of the current transaction.
+     *
+     * @throws IllegalStateException if there is no transaction
+     */
+    public <T> Stream<T> stream(String sql, Map<String, ?> params, RowMapper<T> rowMapper) {
+        assertInTransaction();
+        return streamingTemplate.queryForStream(sql, params, rowMapper);
+    }
+
+    private void assertInTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Streaming query must run in a transaction to use a cursor");
+        }
+    }
+}
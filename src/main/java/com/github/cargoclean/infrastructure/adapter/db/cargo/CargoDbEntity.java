@@ -23,6 +23,23 @@ import java.util.List;
 @Builder
 public class CargoDbEntity {
 
+    /*
+        Used for updating only "cargo" row, bypassing Spring Data JDBC which
+        also deletes and reinserts all the legs of the cargo, see
+        "DbPersistenceGateway#saveCargo". Checks and increments the version,
+        as Spring Data JDBC does. Must set all the mapped columns, this is
+        checked by "CargoDbEntitySqlTest".
+     */
+    public static final String UPDATE_SQL = """
+            update cargo set origin = :origin, transport_status = :transportStatus, last_known_location = :lastKnownLocation,
+            current_voyage = :currentVoyage, eta = :eta, routing_status = :routingStatus, is_misdirected = :misdirected,
+            next_expected_handling_event_type = :nextExpectedType, next_expected_location = :nextExpectedLocation,
+            next_expected_voyage = :nextExpectedVoyage, last_event_completion_time = :lastEventCompletionTime,
+            spec_origin = :specOrigin, spec_destination = :specDestination, spec_arrival_deadline = :specArrivalDeadline,
+            "version" = :version + 1
+            where tracking_id = :trackingId and "version" = :version;
+            """.trim();
+
     @Id
     @Column("tracking_id")
     private String trackingId;
@@ -0,0 +1,21 @@
+package com.github.cargoclean.infrastructure.adapter.db.cargo;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+@Data
+public class CargoDestinationQueryRow {
+
+    public static final String SQL = """
+            select c.spec_destination from cargo c where c.tracking_id = :trackingId;
+            """.trim();
+
+    public static final RowMapper<CargoDestinationQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        CargoDestinationQueryRow row = new CargoDestinationQueryRow();
+        row.setSpecDestination(rs.getString("spec_destination"));
+        return row;
+    };
+
+    String specDestination;
+
+}
@@ -2,18 +2,53 @@ package com.github.cargoclean.infrastructure.adapter.db.cargo;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
 public class CargoInfoRow {
     public static final String SQL = """
                     select tracking_id, l."name" as origin, l2."name" as destination, routing_status from public.cargo c join public."location" l on c.origin = l.unlocode
-                    join public."location" l2 on c.spec_destination = l2.unlocode;
+                    join public."location" l2 on c.spec_destination = l2.unlocode
             """.trim();
 
+    public static final RowMapper<CargoInfoRow> ROW_MAPPER = (rs, rowNum) -> {
+        CargoInfoRow row = new CargoInfoRow();
+        row.setTrackingId(rs.getString("tracking_id"));
+        row.setOrigin(rs.getString("origin"));
+        row.setDestination(rs.getString("destination"));
+        row.setRoutingStatus(rs.getString("routing_status"));
+        return row;
+    };
+
     private String trackingId;
     private String origin;
     private String destination;
     private String routingStatus;
 
+    /**
+     * Returns the query for one page of cargoes, with conditions only for the
+     * parameters which are set: "after" (key of the page), "routingStatus",
+     * "destination". "limit" parameter is required.
+     */
+    public static String sql(Set<String> params) {
+        List<String> conditions = new ArrayList<>();
+        if (params.contains("after")) {
+            conditions.add("c.tracking_id > :after");
+        }
+        if (params.contains("routingStatus")) {
+            conditions.add("c.routing_status = :routingStatus");
+        }
+        if (params.contains("destination")) {
+            conditions.add("c.spec_destination = :destination");
+        }
+        return SQL
+                + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+                + " order by c.tracking_id limit :limit";
+    }
+
 }
@@ -0,0 +1,21 @@
+package com.github.cargoclean.infrastructure.adapter.db.cargo;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+@Data
+public class CargoVersionQueryRow {
+
+    public static final String SQL = """
+            select c.version from cargo c where c.tracking_id = :trackingId;
+            """.trim();
+
+    public static final RowMapper<CargoVersionQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        CargoVersionQueryRow row = new CargoVersionQueryRow();
+        row.setVersion(rs.getObject("version", Integer.class));
+        return row;
+    };
+
+    Integer version;
+
+}
@@ -31,4 +31,7 @@ public class DeliveryDbEntity {
 
     @Embedded.Nullable
     HandlingActivityDbEntity nextExpectedActivity;
+
+    @Column("last_event_completion_time")
+    Instant lastEventCompletionTime;
 }
@@ -0,0 +1,21 @@
+package com.github.cargoclean.infrastructure.adapter.db.cargo;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+@Data
+public class ExistingTrackingIdsQueryRow {
+
+    public static final String SQL = """
+            select c.tracking_id from cargo c where c.tracking_id in (:trackingIds);
+            """.trim();
+
+    public static final RowMapper<ExistingTrackingIdsQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        ExistingTrackingIdsQueryRow row = new ExistingTrackingIdsQueryRow();
+        row.setTrackingId(rs.getString("tracking_id"));
+        return row;
+    };
+
+    String trackingId;
+
+}
@@ -12,6 +12,25 @@ import java.time.Instant;
 @Table("leg")
 public class LegDbEntity {
 
+    /*
+        Used for updating only the legs which have changed, when
+        the itinerary of an existing cargo is modified.
+     */
+    public static final String INSERT_SQL = """
+            insert into leg (cargo_tracking_id, voyage_number, load_location, unload_location, load_time, unload_time, leg_index)
+            values (:cargoTrackingId, :voyageNumber, :loadLocation, :unloadLocation, :loadTime, :unloadTime, :legIndex);
+            """.trim();
+
+    public static final String UPDATE_SQL = """
+            update leg set voyage_number = :voyageNumber, load_location = :loadLocation, unload_location = :unloadLocation,
+            load_time = :loadTime, unload_time = :unloadTime
+            where cargo_tracking_id = :cargoTrackingId and leg_index = :legIndex;
+            """.trim();
+
+    public static final String DELETE_FROM_INDEX_SQL = """
+            delete from leg where cargo_tracking_id = :cargoTrackingId and leg_index >= :legIndex;
+            """.trim();
+
     @Column("cargo_tracking_id")
     private String cargoTrackingId;
 
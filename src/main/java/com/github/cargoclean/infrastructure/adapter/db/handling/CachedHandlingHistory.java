@@ -0,0 +1,53 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingHistory;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Handling history of a cargo as cached, together with the number of the events
+ * and the greatest event ID of the cargo in the database when the history was
+ * cached. These are compared with the current ones before the cached history is used.
+ *
+ * @see HandlingHistoryStampQueryRow
+ */
+@Value
+public class CachedHandlingHistory {
+
+    HandlingHistory history;
+
+    long eventCount;
+
+    long maxEventId;
+
+    public static CachedHandlingHistory of(HandlingHistory history, HandlingHistoryStampQueryRow stamp) {
+        return new CachedHandlingHistory(history, stamp.getEventCount(), stamp.getMaxEventId());
+    }
+
+    /**
+     * Returns {@code true} if no events of the cargo were recorded or removed since the history
+     * was cached (by any instance of the application).
+     *
+     * @param stamp current number of the events and the greatest event ID of the cargo
+     * @return whether the cached history is still up-to-date
+     */
+    public boolean isCurrent(HandlingHistoryStampQueryRow stamp) {
+        return eventCount == stamp.getEventCount() && maxEventId == stamp.getMaxEventId();
+    }
+
+    /**
+     * Returns the cached history with the newly recorded events added to the history and
+     * accounted for in the stamp.
+     *
+     * @param newEvents events recorded for the cargo
+     * @return updated cached history
+     */
+    public CachedHandlingHistory withEvents(List<HandlingEvent> newEvents) {
+        long newMaxEventId = newEvents.stream()
+                .mapToLong(event -> event.getEventId().getId())
+                .reduce(maxEventId, Math::max);
+        return new CachedHandlingHistory(history.withEvents(newEvents), eventCount + newEvents.size(), newMaxEventId);
+    }
+}
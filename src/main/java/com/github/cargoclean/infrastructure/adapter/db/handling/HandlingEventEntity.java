@@ -14,6 +14,15 @@ import java.time.Instant;
 @Builder
 public class HandlingEventEntity {
 
+    /*
+        Used for inserting new handling events in a JDBC batch, bypassing
+        Spring Data JDBC which inserts entities one by one.
+     */
+    public static final String INSERT_SQL = """
+            insert into handling_event (event_id, voyage_number, location, cargo_id, completion_time, registration_time, "type", "version")
+            values (:eventId, :voyageNumber, :location, :cargoId, :completionTime, :registrationTime, :type, 0);
+            """.trim();
+
     @Id
     @Column("event_id")
     private Long eventId;
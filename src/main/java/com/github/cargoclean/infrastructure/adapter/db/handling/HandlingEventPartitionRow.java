@@ -0,0 +1,115 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+    References:
+    ----------
+
+    1.  PostgreSQL documentation, table partitioning: https://www.postgresql.org/docs/current/ddl-partitioning.html
+ */
+
+/**
+ * Partition of {@code handling_event} table. Monthly partitions are named after
+ * the month of the registration time of their events, see
+ * "V1.17__Partition_handling_event.sql".
+ */
+@Data
+public class HandlingEventPartitionRow {
+
+    public static final String SQL = """
+            select c.relname as partition_name from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            join pg_class p on p.oid = i.inhparent
+            where p.relname = 'handling_event'
+            order by c.relname;
+            """.trim();
+
+    /*
+        DDL statements cannot have bind parameters, names of the partitions and
+        the bounds are formatted from "YearMonth" values only.
+     */
+    public static final String CREATE_SQL = """
+            create table if not exists %s partition of handling_event for values from ('%s-01') to ('%s-01');
+            """.trim();
+
+    /*
+        A partition cannot be created for a month if the default partition already
+        has events of that month: the events are moved out of the default partition
+        to a new table, which is then attached as the partition for the month.
+     */
+    public static final String DEFAULT_HAS_EVENTS_SQL = """
+            select exists (select 1 from handling_event_default e
+            where e.registration_time >= '%s-01' and e.registration_time < '%s-01');
+            """.trim();
+
+    public static final String CREATE_DETACHED_SQL = """
+            create table %s (like handling_event including defaults including constraints);
+            """.trim();
+
+    public static final String MOVE_FROM_DEFAULT_SQL = """
+            with moved as (delete from handling_event_default e
+            where e.registration_time >= '%2$s-01' and e.registration_time < '%3$s-01' returning e.*)
+            insert into %1$s select * from moved;
+            """.trim();
+
+    public static final String ATTACH_SQL = """
+            alter table handling_event attach partition %s for values from ('%s-01') to ('%s-01');
+            """.trim();
+
+    /*
+        Partition can be detached only if all of its events are for the cargoes
+        which were delivered (unloaded at their destination) and claimed by their
+        customers.
+     */
+    public static final String HAS_UNCLAIMED_CARGOES_SQL = """
+            select exists (select 1 from %s e join cargo c on c.tracking_id = e.cargo_id
+            where c.transport_status <> 'CLAIMED' or c.last_known_location is distinct from c.spec_destination);
+            """.trim();
+
+    /*
+        Detaching takes an "access exclusive" lock on "handling_event" ("detach
+        concurrently" cannot be used, since there is a default partition). We do
+        not wait for the lock behind long-running transactions, blocking all the
+        queries queued behind us: detaching is just retried on the next run.
+     */
+    public static final String LOCK_TIMEOUT_SQL = """
+            set local lock_timeout = %d;
+            """.trim();
+
+    public static final String DETACH_SQL = """
+            alter table handling_event detach partition %s;
+            """.trim();
+
+    public static final RowMapper<HandlingEventPartitionRow> ROW_MAPPER = (rs, rowNum) -> {
+        HandlingEventPartitionRow row = new HandlingEventPartitionRow();
+        row.setPartitionName(rs.getString("partition_name"));
+        return row;
+    };
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("handling_event_y(\\d{4})m(\\d{2})");
+
+    String partitionName;
+
+    public static String partitionName(YearMonth month) {
+        return "handling_event_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Returns the month of the events in this partition, or nothing for the default
+     * partition.
+     */
+    public Optional<YearMonth> month() {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import com.github.cargoclean.core.port.transaction.TransactionOperationsOutputPort;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Periodic maintenance of the monthly partitions of {@code handling_event} table:
+ * creates the partitions for the next months ahead of time, and detaches the partitions
+ * older than the retention period if all of their events are for the cargoes which were
+ * already claimed. Detached partitions stay in the database, as standalone tables, until
+ * they are archived or dropped by the DBA.
+ * <p>
+ * Since detaching a partition locks the whole table, the maintenance is disabled by default
+ * and should be enabled on one instance of the application only. If it does run on several
+ * instances at the same time, partitions are created with {@code if not exists}, and detaching
+ * a partition which was just detached by another instance fails harmlessly.
+ */
+@ConditionalOnProperty(prefix = "cargo.handling-event-retention", name = "enabled", havingValue = "true")
+@Component
+@Slf4j
+public class HandlingEventRetention implements SmartLifecycle {
+
+    private final NamedParameterJdbcOperations queryTemplate;
+
+    private final TransactionOperationsOutputPort txOps;
+
+    private final CacheManager cacheManager;
+
+    private final CargoCleanProperties props;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    public HandlingEventRetention(NamedParameterJdbcOperations queryTemplate, TransactionOperationsOutputPort txOps,
+                                  CacheManager cacheManager, CargoCleanProperties props) {
+        this.queryTemplate = queryTemplate;
+        this.txOps = txOps;
+        this.cacheManager = cacheManager;
+        this.props = props;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("handling-event-retention-"));
+    }
+
+    void maintain() {
+        try {
+            maintain(YearMonth.now(ZoneOffset.UTC));
+        } catch (Exception e) {
+            log.error("[Retention] Error while maintaining partitions of handling events, will retry", e);
+        }
+    }
+
+    void maintain(YearMonth currentMonth) {
+        CargoCleanProperties.HandlingEventRetention retentionProps = props.getHandlingEventRetention();
+
+        List<HandlingEventPartitionRow> partitions = queryTemplate.query(HandlingEventPartitionRow.SQL, Map.of(),
+                HandlingEventPartitionRow.ROW_MAPPER);
+
+        // create partitions for this month and the next months
+        Set<String> partitionNames = partitions.stream()
+                .map(HandlingEventPartitionRow::getPartitionName)
+                .collect(Collectors.toSet());
+        for (int i = 0; i <= retentionProps.getPartitionsAhead(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (partitionNames.contains(HandlingEventPartitionRow.partitionName(month))) {
+                continue;
+            }
+            try {
+                txOps.doInTransaction(() -> createPartition(month));
+            } catch (Exception e) {
+                log.warn("[Retention] Cannot create partition for {}", month, e);
+            }
+        }
+
+        // detach expired partitions with events of delivered and claimed cargoes only
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionProps.getRetentionMonths());
+        int detached = 0;
+        for (HandlingEventPartitionRow partition : partitions) {
+            Optional<YearMonth> month = partition.month();
+            if (month.isEmpty() || !month.get().isBefore(oldestRetained)) {
+                continue;
+            }
+            try {
+                if (txOps.doInTransactionWithResult(() -> detachIfClaimed(partition.getPartitionName()))) {
+                    detached++;
+                }
+            } catch (Exception e) {
+                log.warn("[Retention] Cannot detach partition {}", partition.getPartitionName(), e);
+            }
+        }
+
+        if (detached > 0) {
+            // cached histories may still have the events of the detached partitions
+            Optional.ofNullable(cacheManager.getCache(props.getHandlingHistoryCache().getName()))
+                    .ifPresent(Cache::clear);
+            log.info("[Retention] Detached {} partitions of handling events older than {}", detached, oldestRetained);
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        JdbcOperations jdbcOps = queryTemplate.getJdbcOperations();
+        String partitionName = HandlingEventPartitionRow.partitionName(month);
+        YearMonth nextMonth = month.plusMonths(1);
+
+        Boolean defaultHasEvents = jdbcOps.queryForObject(HandlingEventPartitionRow.DEFAULT_HAS_EVENTS_SQL
+                .formatted(month, nextMonth), Boolean.class);
+        if (!Boolean.TRUE.equals(defaultHasEvents)) {
+            jdbcOps.execute(HandlingEventPartitionRow.CREATE_SQL.formatted(partitionName, month, nextMonth));
+            return;
+        }
+
+        log.warn("[Retention] Default partition has events of {}, moving them to partition {}", month, partitionName);
+        jdbcOps.execute(HandlingEventPartitionRow.CREATE_DETACHED_SQL.formatted(partitionName));
+        jdbcOps.execute(HandlingEventPartitionRow.MOVE_FROM_DEFAULT_SQL.formatted(partitionName, month, nextMonth));
+        jdbcOps.execute(HandlingEventPartitionRow.ATTACH_SQL.formatted(partitionName, month, nextMonth));
+    }
+
+    private boolean detachIfClaimed(String partitionName) {
+        queryTemplate.getJdbcOperations().execute(HandlingEventPartitionRow.LOCK_TIMEOUT_SQL
+                .formatted(props.getHandlingEventRetention().getDetachLockTimeout().toMillis()));
+        Boolean hasUnclaimedCargoes = queryTemplate.getJdbcOperations()
+                .queryForObject(HandlingEventPartitionRow.HAS_UNCLAIMED_CARGOES_SQL.formatted(partitionName),
+                        Boolean.class);
+        if (Boolean.TRUE.equals(hasUnclaimedCargoes)) {
+            log.debug("[Retention] Partition {} has events of cargoes not claimed yet, keeping it", partitionName);
+            return false;
+        }
+        queryTemplate.getJdbcOperations().execute(HandlingEventPartitionRow.DETACH_SQL.formatted(partitionName));
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long interval = props.getHandlingEventRetention().getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintain, 0L, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+@Data
+public class HandlingHistoryStampQueryRow {
+
+    // served by "handling_event_cargo_id_completion_time_idx"
+    public static final String SQL = """
+            select count(*) as event_count, coalesce(max(e.event_id), 0) as max_event_id
+            from handling_event e where e.cargo_id = :cargoId;
+            """.trim();
+
+    public static final RowMapper<HandlingHistoryStampQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        HandlingHistoryStampQueryRow row = new HandlingHistoryStampQueryRow();
+        row.setEventCount(rs.getLong("event_count"));
+        row.setMaxEventId(rs.getLong("max_event_id"));
+        return row;
+    };
+
+    long eventCount;
+
+    long maxEventId;
+
+}
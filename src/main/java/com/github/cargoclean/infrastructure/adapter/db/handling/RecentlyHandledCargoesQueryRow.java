@@ -0,0 +1,24 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+@Data
+public class RecentlyHandledCargoesQueryRow {
+
+    public static final String SQL = """
+            select e.cargo_id from handling_event e
+            group by e.cargo_id
+            order by max(e.registration_time) desc
+            limit :limit;
+            """.trim();
+
+    public static final RowMapper<RecentlyHandledCargoesQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        RecentlyHandledCargoesQueryRow row = new RecentlyHandledCargoesQueryRow();
+        row.setCargoId(rs.getString("cargo_id"));
+        return row;
+    };
+
+    String cargoId;
+
+}
@@ -1,6 +1,7 @@
 package com.github.cargoclean.infrastructure.adapter.db.location;
 
 import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
 
 @Data
 public class AllUnlocodesQueryRow {
@@ -9,6 +10,12 @@ public class AllUnlocodesQueryRow {
             select distinct l.unlocode from "location" l;
             """.trim();
 
+    public static final RowMapper<AllUnlocodesQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        AllUnlocodesQueryRow row = new AllUnlocodesQueryRow();
+        row.setUnlocode(rs.getString("unlocode"));
+        return row;
+    };
+
     String unlocode;
 
 }
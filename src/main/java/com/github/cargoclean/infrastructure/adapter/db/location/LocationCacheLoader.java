@@ -0,0 +1,62 @@
+package com.github.cargoclean.infrastructure.adapter.db.location;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.cargoclean.core.model.location.Location;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.infrastructure.adapter.db.map.DbEntityMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+/*
+    References:
+    ----------
+
+    1.  Caffeine, population and refresh: https://github.com/ben-manes/caffeine/wiki/Population
+        and https://github.com/ben-manes/caffeine/wiki/Refresh
+ */
+
+/**
+ * Loads {@link Location} models, keyed by {@link UnLocode}, into the location cache. Several
+ * missing locations are loaded with a single query. Returns nothing for the locations which
+ * are not in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+public class LocationCacheLoader implements CacheLoader<Object, Object> {
+
+    LocationDbEntityRepository locationRepository;
+    DbEntityMapper dbMapper;
+
+    @Override
+    public Object load(Object key) {
+        log.debug("[Cache] Loading location {}", key);
+        return locationRepository.findById(((UnLocode) key).getCode())
+                .map(dbMapper::convert)
+                .orElse(null);
+    }
+
+    @Override
+    public Map<Object, Object> loadAll(Iterable<?> keys) {
+        List<String> codes = StreamSupport.stream(keys.spliterator(), false)
+                .map(key -> ((UnLocode) key).getCode())
+                .toList();
+        log.debug("[Cache] Loading {} locations", codes.size());
+
+        Map<Object, Object> locations = new HashMap<>();
+        locationRepository.findAllById(codes).forEach(dbEntity -> {
+            Location location = dbMapper.convert(dbEntity);
+            locations.put(location.getUnlocode(), location);
+        });
+        return locations;
+    }
+}
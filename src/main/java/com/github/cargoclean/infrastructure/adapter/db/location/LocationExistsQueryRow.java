@@ -1,12 +1,19 @@
 package com.github.cargoclean.infrastructure.adapter.db.location;
 
 import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
 
 @Data
 public class LocationExistsQueryRow {
 
     public static final String SQL = "select count(*) as count from location l where l.unlocode = :unlocode";
 
+    public static final RowMapper<LocationExistsQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        LocationExistsQueryRow row = new LocationExistsQueryRow();
+        row.setCount(rs.getInt("count"));
+        return row;
+    };
+
     Integer count;
 
     public boolean exists() {
@@ -0,0 +1,74 @@
+package com.github.cargoclean.infrastructure.adapter.db.outbox;
+
+import lombok.Data;
+import org.springframework.jdbc.core.RowMapper;
+
+/*
+    References:
+    ----------
+
+    1.  PostgreSQL documentation, "The Locking Clause": https://www.postgresql.org/docs/current/sql-select.html#SQL-FOR-UPDATE-SHARE
+ */
+
+/**
+ * Entry in the outbox of handling events waiting for the delivery of their
+ * cargo to be updated.
+ */
+@Data
+public class OutboxEntryRow {
+
+    public static final String INSERT_SQL = """
+            insert into handling_event_outbox (event_id, cargo_id) values (:eventId, :cargoId);
+            """.trim();
+
+    /*
+        Cargoes with the oldest entries which are due for processing (entries which
+        failed are retried later, entries which failed too many times are ignored).
+        No locks are taken here: each cargo is processed in its own transaction.
+     */
+    public static final String SELECT_CARGOES_SQL = """
+            select o.cargo_id from (select o.cargo_id, min(o.id) as first_id from (select o.id, o.cargo_id from handling_event_outbox o where o.attempts < :maxAttempts and o.next_attempt_at <= now() order by o.id limit :batchSize) o group by o.cargo_id) o order by o.first_id;
+            """.trim();
+
+    /*
+        Point of interest:
+        -----------------
+        The row of the cargo is locked first, so updates of the same cargo
+        by several relays (on different instances of the application) are
+        serialized. Then "skip locked" makes sure we never get the entries
+        which another relay is processing right now.
+     */
+    public static final String LOCK_CARGO_SQL = """
+            select c.tracking_id from cargo c where c.tracking_id = :cargoId for update;
+            """.trim();
+
+    public static final String SELECT_CARGO_ENTRIES_SQL = """
+            select o.id, o.event_id, o.cargo_id, o.attempts from handling_event_outbox o where o.cargo_id = :cargoId and o.attempts < :maxAttempts and o.next_attempt_at <= now() order by o.id for update skip locked;
+            """.trim();
+
+    public static final String FAIL_SQL = """
+            update handling_event_outbox set attempts = attempts + 1, next_attempt_at = now() + :retryDelay * interval '1 millisecond' where id in (:ids);
+            """.trim();
+
+    public static final String DELETE_SQL = """
+            delete from handling_event_outbox where id in (:ids);
+            """.trim();
+
+    public static final RowMapper<OutboxEntryRow> ROW_MAPPER = (rs, rowNum) -> {
+        OutboxEntryRow row = new OutboxEntryRow();
+        row.setId(rs.getLong("id"));
+        row.setEventId(rs.getLong("event_id"));
+        row.setCargoId(rs.getString("cargo_id"));
+        row.setAttempts(rs.getInt("attempts"));
+        return row;
+    };
+
+    Long id;
+
+    Long eventId;
+
+    String cargoId;
+
+    int attempts;
+
+}
@@ -3,15 +3,52 @@ package com.github.cargoclean.infrastructure.adapter.db.report;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
 
 @Data
 @NoArgsConstructor
 public class ExpectedArrivalsQueryRow {
 
+    /*
+        Point of interest:
+        -----------------
+        Numbers of arrivals are read from "expected_arrivals" summary
+        table (one row per destination) instead of being counted over
+        the whole "cargo" table for each report.
+     */
     public static final String SQL = """
-            select l."name" as city, count(*) as arrivals from cargo c join "location" l on c.spec_destination = l.unlocode group by l.unlocode, l."name" order by arrivals desc;
+            select l."name" as city, a.arrivals from expected_arrivals a join "location" l on a.destination = l.unlocode where a.arrivals > 0 order by a.arrivals desc;
             """.trim();
 
+    public static final String ADD_ARRIVALS_SQL = """
+            insert into expected_arrivals (destination, arrivals) values (:destination, :delta)
+            on conflict (destination) do update set arrivals = expected_arrivals.arrivals + excluded.arrivals;
+            """.trim();
+
+    /*
+        Rebuilding locks "cargo" table against concurrent changes (until
+        the end of the transaction), so no change of the number of arrivals
+        is lost.
+     */
+    public static final String LOCK_CARGO_SQL = """
+            lock table cargo in share mode;
+            """.trim();
+
+    public static final String DELETE_ALL_SQL = """
+            delete from expected_arrivals;
+            """.trim();
+
+    public static final String REBUILD_SQL = """
+            insert into expected_arrivals (destination, arrivals) select c.spec_destination, count(*) from cargo c group by c.spec_destination;
+            """.trim();
+
+    public static final RowMapper<ExpectedArrivalsQueryRow> ROW_MAPPER = (rs, rowNum) -> {
+        ExpectedArrivalsQueryRow row = new ExpectedArrivalsQueryRow();
+        row.setCity(rs.getString("city"));
+        row.setArrivals(rs.getInt("arrivals"));
+        return row;
+    };
+
     @Builder
     public ExpectedArrivalsQueryRow(String city, Integer arrivals) {
         this.city = city;
@@ -2,6 +2,7 @@ package com.github.cargoclean.infrastructure.adapter.events;
 
 import com.github.cargoclean.core.model.CargoEvent;
 import com.github.cargoclean.core.port.events.EventDispatcherOutputPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
@@ -14,7 +15,11 @@ import org.springframework.stereotype.Service;
 
 /**
  * Domain events dispatcher working with Spring's {@link ApplicationEventPublisher}.
+ * Not used when delivery updates are dispatched via the outbox.
+ *
+ * @see OutboxEventDispatcher
  */
+@ConditionalOnExpression("!'${cargo.delivery-updates.mode:sync}'.equalsIgnoreCase('outbox')")
 @Service
 public class CargoSpringEventDispatcher implements EventDispatcherOutputPort {
 
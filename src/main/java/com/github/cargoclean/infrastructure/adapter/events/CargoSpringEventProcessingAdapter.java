@@ -3,7 +3,9 @@ package com.github.cargoclean.infrastructure.adapter.events;
 import com.github.cargoclean.core.model.CargoEvent;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
-import com.github.cargoclean.core.usecase.handling.HandlingUseCase;
+import com.github.cargoclean.core.usecase.handling.HandlingInputPort;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import com.github.cargoclean.infrastructure.config.UseCaseConfig;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -13,6 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /*
     Reference:
     ---------
@@ -31,6 +35,11 @@ public class CargoSpringEventProcessingAdapter {
 
     ApplicationContext appContext;
 
+    CargoCleanProperties props;
+
+    DeliveryUpdateExecutor deliveryUpdateExecutor;
+
+    DeliveryUpdateCoalescer deliveryUpdateCoalescer;
 
     /*
         Point of interest:
@@ -47,10 +56,41 @@ public class CargoSpringEventProcessingAdapter {
         if (event instanceof HandlingEvent handlingEvent) {
             TrackingId trackingId = handlingEvent.getCargoId();
             log.debug("[Event] Handling event for cargo {} was recorded, will update delivery history.", trackingId);
-            HandlingUseCase useCase = appContext.getBean(HandlingUseCase.class);
-            useCase.updateDeliveryAfterHandlingActivity(trackingId.toString());
+
+            if (props.getDeliveryUpdates().getMode() == CargoCleanProperties.DispatchMode.SYNC) {
+                HandlingInputPort useCase = appContext.getBean(HandlingInputPort.class);
+                useCase.updateDeliveryAfterHandlingActivity(handlingEvent);
+                return;
+            }
+
+            /*
+                Point of interest:
+                -----------------
+                In asynchronous mode, the thread which recorded the handling event
+                (i.e. HTTP request thread) only submits the update of the delivery.
+                The update is executed later, outside the scope of the request,
+                so we need to use an instance of the use case with a presenter
+                which does not depend on the request.
+             */
+
+            try {
+                if (deliveryUpdateCoalescer.isEnabled()) {
+                    // a burst of events for the same cargo results in a single update
+                    deliveryUpdateCoalescer.submit(handlingEvent,
+                            handlingEvents -> systemHandlingUseCase().updateDeliveryAfterHandlingActivities(handlingEvents));
+                } else {
+                    deliveryUpdateExecutor.submit(trackingId,
+                            () -> systemHandlingUseCase().updateDeliveryAfterHandlingActivity(handlingEvent));
+                }
+            } catch (RejectedExecutionException e) {
+                log.error("[Event] Cannot submit update of delivery for cargo %s".formatted(trackingId), e);
+            }
         }
 
     }
 
+    private HandlingInputPort systemHandlingUseCase() {
+        return appContext.getBean(UseCaseConfig.SYSTEM_HANDLING_USE_CASE, HandlingInputPort.class);
+    }
+
 }
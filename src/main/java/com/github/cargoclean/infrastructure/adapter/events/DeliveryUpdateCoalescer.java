@@ -0,0 +1,171 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+    References:
+    ----------
+
+    1.  JavaDoc for "java.util.concurrent.ConcurrentHashMap#compute"
+ */
+
+/**
+ * Coalesces bursts of delivery updates for the same cargo. The first handling event
+ * for a cargo opens a window (see {@code cargo.delivery-updates.coalescing-window}),
+ * all the events for the same cargo arriving during the window are collected, and,
+ * when the window closes, a single update with all the collected events is submitted
+ * to {@link DeliveryUpdateExecutor}.
+ * <p>
+ * Windows are closed by a single scheduler thread in the order they were opened, so
+ * the updates for the same cargo are still submitted in order. On shutdown, all open
+ * windows are closed immediately, before {@code DeliveryUpdateExecutor} is drained.
+ * <p>
+ * Coalescing applies to the asynchronous mode only: in synchronous mode the delivery
+ * must be updated before the request recording the event completes, so there is no
+ * window to collect the events in, and the coalescing window is ignored.
+ */
+@Component
+@Slf4j
+public class DeliveryUpdateCoalescer implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "cargo.delivery.updates";
+
+    private final Map<TrackingId, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    private final DeliveryUpdateExecutor deliveryUpdateExecutor;
+
+    private final Duration window;
+
+    private final CargoCleanProperties.DispatchMode mode;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final Counter coalescedEvents;
+
+    private volatile boolean running;
+
+    public DeliveryUpdateCoalescer(CargoCleanProperties props, DeliveryUpdateExecutor deliveryUpdateExecutor,
+                                   MeterRegistry meterRegistry) {
+        this.deliveryUpdateExecutor = deliveryUpdateExecutor;
+        this.window = props.getDeliveryUpdates().getCoalescingWindow();
+        this.mode = props.getDeliveryUpdates().getMode();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("delivery-update-coalescer-"));
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.coalescedEvents = Counter.builder(METRIC_PREFIX + ".coalesced")
+                .description("Handling events merged into an already pending delivery update")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether coalescing is configured, i.e. the coalescing window is positive.
+     */
+    public boolean isEnabled() {
+        return !window.isZero() && !window.isNegative();
+    }
+
+    /**
+     * Adds {@code handlingEvent} to the pending update of the delivery of its cargo.
+     * If there is no pending update for the cargo, a new one is opened with the given
+     * {@code update} which will be called with all the events collected during the window.
+     *
+     * @param handlingEvent newly recorded handling event
+     * @param update        update of the delivery with the collected events of the cargo
+     * @throws RejectedExecutionException if the coalescer is not running
+     */
+    public void submit(HandlingEvent handlingEvent, Consumer<List<HandlingEvent>> update) {
+        if (!running) {
+            throw new RejectedExecutionException("Delivery update coalescer is not running, cannot update cargo %s"
+                    .formatted(handlingEvent.getCargoId()));
+        }
+
+        TrackingId trackingId = handlingEvent.getCargoId();
+
+        /*
+            Point of interest:
+            -----------------
+            "compute" is atomic with respect to "remove" in "closeWindow" for the
+            same key, so an event is either added to the pending update which has
+            not been submitted yet, or it opens a new window.
+         */
+        pendingUpdates.compute(trackingId, (id, pendingUpdate) -> {
+            if (pendingUpdate == null) {
+                scheduler.schedule(() -> closeWindow(id), window.toNanos(), TimeUnit.NANOSECONDS);
+                pendingUpdate = new PendingUpdate(new ArrayList<>(), update);
+            } else {
+                coalescedEvents.increment();
+            }
+            pendingUpdate.handlingEvents().add(handlingEvent);
+            return pendingUpdate;
+        });
+    }
+
+    private void closeWindow(TrackingId trackingId) {
+        PendingUpdate pendingUpdate = pendingUpdates.remove(trackingId);
+        if (pendingUpdate == null) {
+            return;
+        }
+        List<HandlingEvent> handlingEvents = List.copyOf(pendingUpdate.handlingEvents());
+        try {
+            deliveryUpdateExecutor.submit(trackingId, () -> pendingUpdate.update().accept(handlingEvents));
+        } catch (RejectedExecutionException e) {
+            log.error("[Delivery updates] Cannot submit update of delivery for cargo %s".formatted(trackingId), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (isEnabled() && mode == CargoCleanProperties.DispatchMode.SYNC) {
+            log.info("[Delivery updates] Coalescing window {} is ignored in synchronous mode", window);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            // let the window being closed right now finish
+            scheduler.awaitTermination(window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("[Delivery updates] Closing {} pending coalescing windows", pendingUpdates.size());
+        pendingUpdates.keySet().forEach(this::closeWindow);
+    }
+
+    /**
+     * Stops before {@link DeliveryUpdateExecutor}, so that the pending updates can
+     * still be submitted to it.
+     */
+    @Override
+    public int getPhase() {
+        return DeliveryUpdateExecutor.PHASE + 1;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingUpdate(List<HandlingEvent> handlingEvents, Consumer<List<HandlingEvent>> update) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+    References:
+    ----------
+
+    1.  JavaDoc for "java.util.concurrent.ThreadPoolExecutor", section "Queuing".
+    2.  Micrometer, concepts: https://micrometer.io/docs/concepts
+ */
+
+/**
+ * Bounded executor for asynchronous updates of cargo delivery. The work is partitioned
+ * by the tracking ID of the cargo: each partition is served by a single thread from
+ * a bounded queue, so the updates for the same cargo are always executed in the order
+ * of their submission.
+ * <p>
+ * When the queue of a partition is full, the submitting thread waits for space in the queue
+ * at most {@code cargo.delivery-updates.submit-timeout}, then it executes the update itself
+ * (backpressure without losing the update, as in synchronous mode). On shutdown, all queued
+ * updates are drained before the rest of the application context (i.e. data source) is closed.
+ */
+@Component
+@Slf4j
+public class DeliveryUpdateExecutor implements SmartLifecycle {
+
+    /**
+     * Lifecycle phase of the executor: it is stopped after the web server has stopped
+     * accepting requests, so that no new updates are submitted while draining.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+    private static final String METRIC_PREFIX = "cargo.delivery.updates";
+
+    private final ThreadPoolExecutor[] partitions;
+
+    private final CargoCleanProperties.DeliveryUpdates props;
+
+    private final Timer executionTimer;
+
+    private final Counter blockedSubmissions;
+
+    private final Counter callerRunsSubmissions;
+
+    private volatile boolean running;
+
+    public DeliveryUpdateExecutor(CargoCleanProperties props, MeterRegistry meterRegistry) {
+        this.props = props.getDeliveryUpdates();
+        this.partitions = new ThreadPoolExecutor[this.props.getPartitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(this.props.getQueueCapacity()),
+                    new CustomizableThreadFactory("delivery-update-%d-".formatted(i)),
+                    this::queueOrRunInCaller);
+        }
+
+        this.executionTimer = Timer.builder(METRIC_PREFIX)
+                .description("Execution of delivery updates")
+                .register(meterRegistry);
+        this.blockedSubmissions = Counter.builder(METRIC_PREFIX + ".blocked")
+                .description("Submissions of delivery updates blocked because of a full queue")
+                .register(meterRegistry);
+        this.callerRunsSubmissions = Counter.builder(METRIC_PREFIX + ".caller.runs")
+                .description("Delivery updates executed by the submitting thread because the queue stayed full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", this, DeliveryUpdateExecutor::queuedUpdates)
+                .description("Delivery updates waiting for execution")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submits the update of the delivery of the cargo with {@code trackingId} for execution.
+     * If the partition for the cargo stays full, executes the update in the calling thread.
+     *
+     * @param trackingId tracking ID of the cargo, determines the partition
+     * @param update     update to execute
+     * @throws RejectedExecutionException if the executor was shut down
+     */
+    public void submit(TrackingId trackingId, Runnable update) {
+        if (!running) {
+            throw new RejectedExecutionException("Delivery update executor is not running, cannot update cargo %s"
+                    .formatted(trackingId));
+        }
+        partitionFor(trackingId).execute(() -> executionTimer.record(update));
+    }
+
+    private ThreadPoolExecutor partitionFor(TrackingId trackingId) {
+        return partitions[Math.floorMod(trackingId.hashCode(), partitions.length)];
+    }
+
+    /*
+        Point of interest:
+        -----------------
+        The submitting thread (i.e. HTTP request thread) never waits for
+        the queue longer than the submit timeout. The handling event is
+        already committed, so instead of dropping the update (or failing
+        the request, making the client record the event again) the thread
+        runs the update itself, like in synchronous mode. The update reads
+        the whole handling history of the cargo, so running it out of order
+        with the queued updates of the same cargo gives the same delivery.
+     */
+
+    private void queueOrRunInCaller(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Delivery update executor is shut down");
+        }
+        blockedSubmissions.increment();
+        try {
+            if (executor.getQueue().offer(task, props.getSubmitTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                // the executor may have been shut down (and its thread exited) while we were waiting
+                if (executor.isShutdown() && executor.getQueue().remove(task)) {
+                    throw new RejectedExecutionException("Delivery update executor was shut down while queueing");
+                }
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting to queue delivery update", e);
+        }
+        callerRunsSubmissions.increment();
+        log.warn("[Delivery updates] Queue stayed full for {}, executing delivery update in the calling thread",
+                props.getSubmitTimeout());
+        task.run();
+    }
+
+    private double queuedUpdates() {
+        return Arrays.stream(partitions).mapToInt(executor -> executor.getQueue().size()).sum();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        log.debug("[Delivery updates] Draining {} queued delivery updates", (long) queuedUpdates());
+        Arrays.stream(partitions).forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + props.getShutdownTimeout().toNanos();
+        for (ThreadPoolExecutor executor : partitions) {
+            try {
+                if (!executor.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.warn("[Delivery updates] Could not drain delivery updates in time, {} updates will be lost",
+                            executor.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.InvalidDomainObjectError;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.usecase.handling.HandlingEventRegistrationResult;
+import com.github.cargoclean.core.usecase.handling.HandlingPresenterOutputPort;
+import com.github.cargoclean.infrastructure.adapter.AbstractErrorHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Presenter for handling use case executed by the system outside of any HTTP request,
+ * i.e. when delivery of a cargo is updated asynchronously. There is no user to present
+ * anything to, so we just log the results.
+ */
+@Slf4j
+public class LoggingHandlingPresenter extends AbstractErrorHandler implements HandlingPresenterOutputPort {
+
+    @Override
+    public void presentResultOfRegisteringHandlingEvent(TrackingId cargoId, HandlingEvent handlingEvent) {
+        log.debug("[Event] Handling event {} was registered for cargo {}", handlingEvent.getEventId(), cargoId);
+    }
+
+    @Override
+    public void presentResultOfRegisteringHandlingEvents(List<HandlingEventRegistrationResult> results) {
+        log.debug("[Event] {} of {} handling events were registered",
+                results.stream().filter(HandlingEventRegistrationResult::isRegistered).count(), results.size());
+    }
+
+    @Override
+    public void presentInvalidParametersError(InvalidDomainObjectError e) {
+        logError(e);
+    }
+
+    @Override
+    public void presentError(Exception e) {
+        logError(e);
+    }
+}
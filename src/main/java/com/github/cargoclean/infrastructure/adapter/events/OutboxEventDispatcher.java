@@ -0,0 +1,55 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.CargoEvent;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.port.events.EventDispatcherOutputPort;
+import com.github.cargoclean.infrastructure.adapter.db.outbox.OutboxEntryRow;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/*
+    References:
+    ----------
+
+    1.  Chris Richardson, Pattern: Transactional outbox: https://microservices.io/patterns/data/transactional-outbox.html
+ */
+
+/**
+ * Domain events dispatcher writing handling events to the outbox table. The use case
+ * dispatches the event in the same transaction in which the event is recorded, so
+ * the outbox entry is committed (or rolled back) together with the event. The entries
+ * are processed by {@link OutboxRelay}. Any other domain events are published with
+ * Spring's {@link ApplicationEventPublisher}.
+ */
+@ConditionalOnProperty(prefix = "cargo.delivery-updates", name = "mode", havingValue = "outbox")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class OutboxEventDispatcher implements EventDispatcherOutputPort {
+
+    NamedParameterJdbcOperations queryTemplate;
+
+    ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void dispatch(CargoEvent cargoEvent) {
+        if (cargoEvent instanceof HandlingEvent handlingEvent) {
+            log.debug("[Outbox] Adding handling event {} for cargo {} to the outbox",
+                    handlingEvent.getEventId(), handlingEvent.getCargoId());
+            queryTemplate.update(OutboxEntryRow.INSERT_SQL, Map.of(
+                    "eventId", handlingEvent.getEventId().getId(),
+                    "cargoId", handlingEvent.getCargoId().getId()));
+        } else {
+            eventPublisher.publishEvent(cargoEvent);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.port.transaction.TransactionOperationsOutputPort;
+import com.github.cargoclean.core.usecase.handling.HandlingInputPort;
+import com.github.cargoclean.infrastructure.adapter.db.handling.HandlingEventEntityRepository;
+import com.github.cargoclean.infrastructure.adapter.db.map.DbEntityMapper;
+import com.github.cargoclean.infrastructure.adapter.db.outbox.OutboxEntryRow;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import com.github.cargoclean.infrastructure.config.UseCaseConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/*
+    References:
+    ----------
+
+    1.  Chris Richardson, Pattern: Transaction log tailing and polling publisher:
+        https://microservices.io/patterns/data/polling-publisher.html
+ */
+
+/**
+ * Relay polling the outbox of handling events written by {@link OutboxEventDispatcher}.
+ * Each cargo with entries in the outbox is processed in its own transaction: delivery
+ * of the cargo is updated with all of its events in the outbox, and the entries are
+ * deleted. If the transaction fails, the entries of this cargo only stay in the outbox
+ * and will be processed again after a delay (at-least-once delivery, which is fine
+ * since the update of delivery is idempotent). Entries which failed too many times
+ * are not retried anymore: they stay in the outbox as dead letters.
+ * <p>
+ * Several instances of the application can run the relay at the same time, the entries
+ * of a cargo are selected with {@code for update skip locked} after locking the cargo.
+ */
+@ConditionalOnProperty(prefix = "cargo.delivery-updates", name = "mode", havingValue = "outbox")
+@Component
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final ApplicationContext appContext;
+
+    private final NamedParameterJdbcOperations queryTemplate;
+
+    private final HandlingEventEntityRepository handlingEventRepository;
+
+    private final DbEntityMapper dbMapper;
+
+    private final TransactionOperationsOutputPort txOps;
+
+    private final CargoCleanProperties.DeliveryUpdates props;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    public OutboxRelay(ApplicationContext appContext, NamedParameterJdbcOperations queryTemplate,
+                       HandlingEventEntityRepository handlingEventRepository, DbEntityMapper dbMapper,
+                       TransactionOperationsOutputPort txOps, CargoCleanProperties props) {
+        this.appContext = appContext;
+        this.queryTemplate = queryTemplate;
+        this.handlingEventRepository = handlingEventRepository;
+        this.dbMapper = dbMapper;
+        this.txOps = txOps;
+        this.props = props.getDeliveryUpdates();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-relay-"));
+    }
+
+    /**
+     * Drains the outbox, cargo by cargo, until there is nothing left to process
+     * (or only the entries which failed recently).
+     */
+    void poll() {
+        try {
+            int processed;
+            do {
+                processed = 0;
+                List<String> cargoIds = queryTemplate.queryForList(OutboxEntryRow.SELECT_CARGOES_SQL,
+                        Map.of("maxAttempts", props.getOutboxMaxAttempts(), "batchSize", props.getOutboxBatchSize()),
+                        String.class);
+                for (String cargoId : cargoIds) {
+                    processed += processCargo(cargoId);
+                }
+            } while (running && processed > 0);
+        } catch (Exception e) {
+            log.error("[Outbox] Error while processing the outbox, will retry", e);
+        }
+    }
+
+    private int processCargo(String cargoId) {
+        List<OutboxEntryRow> claimedEntries = new ArrayList<>();
+        try {
+            return txOps.doInTransactionWithResult(false, () -> {
+                queryTemplate.queryForList(OutboxEntryRow.LOCK_CARGO_SQL, Map.of("cargoId", cargoId), String.class);
+                List<OutboxEntryRow> entries = queryTemplate.query(OutboxEntryRow.SELECT_CARGO_ENTRIES_SQL,
+                        Map.of("cargoId", cargoId, "maxAttempts", props.getOutboxMaxAttempts()),
+                        OutboxEntryRow.ROW_MAPPER);
+                if (entries.isEmpty()) {
+                    // processed by another relay in the meantime
+                    return 0;
+                }
+                claimedEntries.addAll(entries);
+
+                // keep the order in which the events were added to the outbox
+                Map<Long, Long> order = entries.stream()
+                        .collect(Collectors.toMap(OutboxEntryRow::getEventId, OutboxEntryRow::getId, Math::min));
+                List<HandlingEvent> handlingEvents = StreamSupport.stream(handlingEventRepository
+                                .findAllById(order.keySet()).spliterator(), false)
+                        .sorted(Comparator.comparing(entity -> order.get(entity.getEventId())))
+                        .map(dbMapper::convert)
+                        .toList();
+
+                log.debug("[Outbox] Processing {} outbox entries for cargo {}", entries.size(), cargoId);
+
+                if (handlingEvents.isEmpty()) {
+                    log.warn("[Outbox] Handling events {} of cargo {} do not exist anymore, skipping",
+                            order.keySet(), cargoId);
+                } else {
+                    appContext.getBean(UseCaseConfig.OUTBOX_HANDLING_USE_CASE, HandlingInputPort.class)
+                            .updateDeliveryAfterHandlingActivities(handlingEvents);
+                }
+
+                queryTemplate.update(OutboxEntryRow.DELETE_SQL,
+                        Map.of("ids", entries.stream().map(OutboxEntryRow::getId).toList()));
+                return entries.size();
+            });
+        } catch (Exception e) {
+            recordFailure(cargoId, claimedEntries, e);
+            return 0;
+        }
+    }
+
+    /*
+        The transaction processing the cargo was rolled back, so we record
+        the failed attempt in a new one.
+     */
+    private void recordFailure(String cargoId, List<OutboxEntryRow> entries, Exception error) {
+        if (entries.isEmpty()) {
+            log.warn("[Outbox] Cannot process outbox entries of cargo {}, will retry", cargoId, error);
+            return;
+        }
+        txOps.doInTransaction(() -> queryTemplate.update(OutboxEntryRow.FAIL_SQL,
+                Map.of("ids", entries.stream().map(OutboxEntryRow::getId).toList(),
+                        "retryDelay", props.getOutboxRetryDelay().toMillis())));
+        int attempts = entries.stream().mapToInt(OutboxEntryRow::getAttempts).max().orElse(0) + 1;
+        if (attempts >= props.getOutboxMaxAttempts()) {
+            log.error("[Outbox] Giving up updating delivery of cargo {} after {} attempts, {} entries are left " +
+                    "in the outbox", cargoId, attempts, entries.size(), error);
+        } else {
+            log.warn("[Outbox] Cannot update delivery of cargo {} (attempt {} of {}), will retry in {}", cargoId,
+                    attempts, props.getOutboxMaxAttempts(), props.getOutboxRetryDelay(), error);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        long interval = props.getOutboxPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            // let the batch being processed right now finish
+            if (!scheduler.awaitTermination(props.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return DeliveryUpdateExecutor.PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
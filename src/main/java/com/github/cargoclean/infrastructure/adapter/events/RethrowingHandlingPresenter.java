@@ -0,0 +1,26 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.InvalidDomainObjectError;
+
+/**
+ * Presenter for handling use case executed by the outbox relay: any error is rethrown
+ * (after being logged), so that the relay can roll back the transaction and keep the
+ * entries of the cargo in the outbox, instead of deleting them as processed.
+ */
+public class RethrowingHandlingPresenter extends LoggingHandlingPresenter {
+
+    @Override
+    public void presentInvalidParametersError(InvalidDomainObjectError e) {
+        super.presentInvalidParametersError(e);
+        throw e;
+    }
+
+    @Override
+    public void presentError(Exception e) {
+        super.presentError(e);
+        if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IllegalStateException(e);
+    }
+}
@@ -15,9 +15,11 @@ import com.github.cargoclean.core.model.cargo.RouteSpecification;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.port.routing.RoutingServiceOutputPort;
 import com.github.cargoclean.infrastructure.adapter.externalrouting.map.TransitPathMapper;
+import com.github.cargoclean.infrastructure.adapter.routing.ItineraryCandidatesCache;
 import com.pathfinder.api.GraphTraversalService;
 import com.pathfinder.api.TransitPath;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,7 +27,11 @@ import java.util.Properties;
 
 /**
  * Code were copied and modified from original "se.citerus.dddsample.infrastructure.routing.ExternalRoutingService".
+ * Used only if configured with {@code cargo.routing.engine=pathfinder}.
+ *
+ * @see com.github.cargoclean.infrastructure.adapter.routing.ScheduleRoutingService
  */
+@ConditionalOnProperty(prefix = "cargo.routing", name = "engine", havingValue = "pathfinder")
 @RequiredArgsConstructor
 @Service
 public class ExternalRoutingService implements RoutingServiceOutputPort {
@@ -34,8 +40,15 @@ public class ExternalRoutingService implements RoutingServiceOutputPort {
 
     private final TransitPathMapper pathMapper;
 
+    private final ItineraryCandidatesCache candidatesCache;
+
     @Override
     public List<Itinerary> fetchRoutesForSpecification(TrackingId trackingId, RouteSpecification routeSpecification) {
+        return candidatesCache.candidates(trackingId, routeSpecification,
+                bucketSpecification -> findRoutes(trackingId, bucketSpecification));
+    }
+
+    private List<Itinerary> findRoutes(TrackingId trackingId, RouteSpecification routeSpecification) {
 
         // seems like the deadline in the specifications is not really used
         // by the original implementation of GraphTraversalService
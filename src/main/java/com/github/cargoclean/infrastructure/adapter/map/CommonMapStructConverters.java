@@ -30,9 +30,7 @@ public class CommonMapStructConverters {
         if (unlocode == null) {
             return null;
         }
-        return UnLocode.builder()
-                .code(unlocode)
-                .build();
+        return UnLocode.of(unlocode);
     }
 
     public String mapTrackingIdToId(TrackingId trackingId) {
@@ -46,9 +44,7 @@ public class CommonMapStructConverters {
         if (id == null) {
             return null;
         }
-        return TrackingId.builder()
-                .id(id)
-                .build();
+        return TrackingId.of(id);
     }
 
     public String mapVoyageNumberToNumber(VoyageNumber voyageNumber) {
@@ -0,0 +1,56 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.port.routing.CandidateRoutesOutputPort;
+import com.github.cargoclean.core.port.routing.RouteDto;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Snapshots of the candidate routes presented to the user, each one under its own
+ * random ID. Unlike {@link ItineraryCandidatesCache}, which is shared by all the
+ * cargoes with similar route specifications, a snapshot is never recalculated:
+ * it either holds exactly the presented routes, or it has expired.
+ */
+@Component
+public class CandidateRoutesSnapshots implements CandidateRoutesOutputPort {
+
+    private final Cache cache;
+
+    @Autowired
+    public CandidateRoutesSnapshots(CacheManager cacheManager, CargoCleanProperties props) {
+        this(Optional.ofNullable(cacheManager.getCache(props.getCandidateRoutesCache().getName()))
+                .orElseThrow(() -> new IllegalStateException("Cache %s not found"
+                        .formatted(props.getCandidateRoutesCache().getName()))));
+    }
+
+    public CandidateRoutesSnapshots(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String saveCandidateRoutes(TrackingId trackingId, List<RouteDto> candidateRoutes) {
+        String snapshotId = UUID.randomUUID().toString();
+        cache.put(snapshotId, new Snapshot(trackingId, List.copyOf(candidateRoutes)));
+        return snapshotId;
+    }
+
+    @Override
+    public Optional<RouteDto> selectedRoute(TrackingId trackingId, String snapshotId, int selectedRouteIndex) {
+        return Optional.ofNullable(cache.get(snapshotId, Snapshot.class))
+                .filter(snapshot -> snapshot.trackingId().equals(trackingId))
+                .map(Snapshot::candidateRoutes)
+                .filter(routes -> selectedRouteIndex >= 0 && selectedRouteIndex < routes.size())
+                .map(routes -> routes.get(selectedRouteIndex));
+    }
+
+    private record Snapshot(TrackingId trackingId, List<RouteDto> candidateRoutes) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.Itinerary;
+import com.github.cargoclean.core.model.cargo.Leg;
+import com.github.cargoclean.core.model.cargo.RouteSpecification;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache of candidate itineraries, keyed by the origin, the destination, and the bucket
+ * of the arrival deadline of a route specification. Itineraries are calculated for the
+ * start of the bucket (the earliest deadline in the bucket), so they satisfy any route
+ * specification with the same key.
+ * <p>
+ * Cached itineraries do not depend on a particular cargo: each leg is assigned the
+ * tracking ID of the cargo when the itineraries are retrieved from the cache.
+ */
+@Component
+@Slf4j
+public class ItineraryCandidatesCache {
+
+    private final Cache cache;
+
+    private final long deadlineBucketMillis;
+
+    @Autowired
+    public ItineraryCandidatesCache(CacheManager cacheManager, CargoCleanProperties props) {
+        this(Optional.ofNullable(cacheManager.getCache(props.getItineraryCache().getName()))
+                        .orElseThrow(() -> new IllegalStateException("Cache %s not found"
+                                .formatted(props.getItineraryCache().getName()))),
+                props.getRouting().getDeadlineBucket());
+    }
+
+    public ItineraryCandidatesCache(Cache cache, Duration deadlineBucket) {
+        this.cache = cache;
+        this.deadlineBucketMillis = deadlineBucket.toMillis();
+    }
+
+    /**
+     * Key of the candidate itineraries for the route specification. Candidates under
+     * the same key may be recalculated at any time (i.e. after they expire), so the
+     * key must not be used to resolve a route selected by the user, see
+     * {@link CandidateRoutesSnapshots} instead.
+     *
+     * @param routeSpecification route specification
+     * @return key of the candidates
+     */
+    String key(RouteSpecification routeSpecification) {
+        return "%s-%s-%d".formatted(routeSpecification.getOrigin(), routeSpecification.getDestination(),
+                deadlineBucketStart(routeSpecification).toEpochMilli());
+    }
+
+    /**
+     * Returns the cached candidate itineraries for the route specification, calculating
+     * them with {@code routing} if they are not cached.
+     *
+     * @param trackingId         tracking ID of the cargo, will be assigned to each leg
+     * @param routeSpecification route specification of the cargo
+     * @param routing            calculates candidate itineraries for a route specification
+     * @return candidate itineraries for the cargo
+     */
+    public List<Itinerary> candidates(TrackingId trackingId, RouteSpecification routeSpecification,
+                                      Function<RouteSpecification, List<Itinerary>> routing) {
+        String key = key(routeSpecification);
+        List<Itinerary> itineraries = cache.get(key, () -> {
+            log.debug("[Routing] Calculating candidate itineraries for {}", key);
+            return List.copyOf(routing.apply(RouteSpecification.builder()
+                    .origin(routeSpecification.getOrigin())
+                    .destination(routeSpecification.getDestination())
+                    .arrivalDeadline(UtcDateTime.of(deadlineBucketStart(routeSpecification)))
+                    .build()));
+        });
+        return assignTo(trackingId, itineraries);
+    }
+
+    /**
+     * Evicts all candidate itineraries, i.e. when the voyage schedule changes.
+     */
+    public void invalidateAll() {
+        cache.invalidate();
+    }
+
+    private Instant deadlineBucketStart(RouteSpecification routeSpecification) {
+        long deadline = routeSpecification.getArrivalDeadline().toInstant().toEpochMilli();
+        return Instant.ofEpochMilli(deadline - Math.floorMod(deadline, deadlineBucketMillis));
+    }
+
+    private List<Itinerary> assignTo(TrackingId trackingId, List<Itinerary> itineraries) {
+        return itineraries.stream()
+                .map(itinerary -> Itinerary.of(itinerary.getLegs().stream()
+                        .map(leg -> Leg.builder()
+                                .cargoTrackingId(trackingId)
+                                .voyageNumber(leg.getVoyageNumber())
+                                .loadLocation(leg.getLoadLocation())
+                                .unloadLocation(leg.getUnloadLocation())
+                                .loadTime(leg.getLoadTime())
+                                .unloadTime(leg.getUnloadTime())
+                                .build())
+                        .toList()))
+                .toList();
+    }
+}
@@ -0,0 +1,246 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.Itinerary;
+import com.github.cargoclean.core.model.cargo.Leg;
+import com.github.cargoclean.core.model.cargo.RouteSpecification;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.port.routing.RoutingServiceOutputPort;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/*
+    References:
+    ----------
+
+    1.  Pyrga et al., Efficient models for timetable information in public transportation systems,
+        section "Time-dependent model": https://dl.acm.org/doi/10.1145/1227161.1227166
+    2.  Yen's and label-setting algorithms for k shortest paths: https://en.wikipedia.org/wiki/K_shortest_path_routing
+ */
+
+/**
+ * In-process routing engine searching the voyage schedule (see {@link VoyageScheduleGraph})
+ * for the itineraries arriving the earliest at the destination of the route specification.
+ * <p>
+ * The search is a time-dependent A*: a label is a partial itinerary arriving at a location
+ * at some time, from each label we take the earliest departure of each outgoing leg. Labels
+ * are ordered by the time of arrival plus the lower bound of the remaining travel time, so
+ * any label which cannot reach the destination before the arrival deadline is pruned. Each
+ * location is settled at most {@code k} times, which gives the {@code k} best itineraries.
+ */
+@ConditionalOnProperty(prefix = "cargo.routing", name = "engine", havingValue = "schedule", matchIfMissing = true)
+@Service
+@Slf4j
+public class ScheduleRoutingService implements RoutingServiceOutputPort {
+
+    // replaced as a whole when the schedule changes, see "updateSchedule()"
+    private volatile VoyageScheduleGraph graph;
+
+    private final CargoCleanProperties.Routing props;
+
+    private final ItineraryCandidatesCache candidatesCache;
+
+    @Autowired
+    public ScheduleRoutingService(CargoCleanProperties props, ResourceLoader resourceLoader,
+                                  ItineraryCandidatesCache candidatesCache) {
+        this.props = props.getRouting();
+        this.candidatesCache = candidatesCache;
+        this.graph = loadSchedule(resourceLoader.getResource(this.props.getSchedule()));
+        log.debug("[Routing] Loaded voyage schedule: {}", graph);
+    }
+
+    ScheduleRoutingService(VoyageScheduleGraph graph, CargoCleanProperties.Routing props,
+                           ItineraryCandidatesCache candidatesCache) {
+        this.graph = graph;
+        this.props = props;
+        this.candidatesCache = candidatesCache;
+    }
+
+    /**
+     * Reads the voyage schedule from the CSV resource.
+     *
+     * @param schedule resource with the schedule
+     * @return graph of the schedule
+     */
+    static VoyageScheduleGraph loadSchedule(Resource schedule) {
+        try (InputStreamReader reader = new InputStreamReader(schedule.getInputStream(), StandardCharsets.UTF_8)) {
+            return VoyageScheduleGraph.fromCsv(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load voyage schedule from %s".formatted(schedule), e);
+        }
+    }
+
+    /*
+        Point of interest:
+        -----------------
+        Candidate itineraries are cached by the origin, the destination,
+        and the bucket of the arrival deadline, so that the search is not
+        repeated for each cargo with a similar route specification (or for
+        the same cargo, each time the user reloads the page).
+     */
+
+    @Override
+    public List<Itinerary> fetchRoutesForSpecification(TrackingId trackingId, RouteSpecification routeSpecification) {
+        return candidatesCache.candidates(trackingId, routeSpecification,
+                bucketSpecification -> fetchRoutesForSpecification(trackingId, bucketSpecification, Instant.now()));
+    }
+
+    /**
+     * Replaces the voyage schedule, evicting all the cached candidate itineraries
+     * which were found with the old schedule. Called by {@link VoyageScheduleReloader}
+     * when the schedule resource is modified.
+     *
+     * @param newGraph graph of the new schedule
+     */
+    public void updateSchedule(VoyageScheduleGraph newGraph) {
+        this.graph = newGraph;
+        candidatesCache.invalidateAll();
+        log.debug("[Routing] Updated voyage schedule: {}", newGraph);
+    }
+
+    /**
+     * Finds at most {@code cargo.routing.max-itineraries} itineraries satisfying the route
+     * specification, ordered by the time of arrival at the destination.
+     *
+     * @param trackingId         tracking ID of the cargo, set to each leg
+     * @param routeSpecification route specification
+     * @param readyTime          earliest time the cargo can depart from the origin
+     * @return itineraries, the earliest arriving first
+     */
+    List<Itinerary> fetchRoutesForSpecification(TrackingId trackingId, RouteSpecification routeSpecification,
+                                                Instant readyTime) {
+
+        // same graph for the whole search, even if the schedule is updated meanwhile
+        VoyageScheduleGraph graph = this.graph;
+
+        Integer origin = graph.nodeIndex(routeSpecification.getOrigin()).orElse(null);
+        Integer destination = graph.nodeIndex(routeSpecification.getDestination()).orElse(null);
+        if (origin == null || destination == null) {
+            log.debug("[Routing] No voyages scheduled from {} or to {}", routeSpecification.getOrigin(),
+                    routeSpecification.getDestination());
+            return List.of();
+        }
+
+        int k = props.getMaxItineraries();
+        long deadline = routeSpecification.getArrivalDeadline().toInstant().toEpochMilli();
+        long transferTime = props.getMinimumTransferTime().toMillis();
+        long[] lowerBounds = graph.travelTimeLowerBounds(destination);
+        int[] settled = new int[graph.nodeCount()];
+
+        PriorityQueue<Label> queue = new PriorityQueue<>(Comparator.comparingLong(Label::priority));
+        if (lowerBounds[origin] != Long.MAX_VALUE) {
+            queue.add(new Label(origin, readyTime.toEpochMilli(), -1, 0L, null, 0,
+                    readyTime.toEpochMilli() + lowerBounds[origin]));
+        }
+
+        List<Itinerary> itineraries = new ArrayList<>();
+        while (!queue.isEmpty() && itineraries.size() < k) {
+            Label label = queue.poll();
+            if (settled[label.node()]++ >= k) {
+                continue;
+            }
+            if (label.node() == destination) {
+                itineraries.add(toItinerary(graph, label, trackingId));
+                continue;
+            }
+            if (label.legs() == props.getMaxLegs()) {
+                continue;
+            }
+
+            for (int edge = graph.firstEdge(label.node()); edge < graph.lastEdgeExclusive(label.node()); edge++) {
+                int target = graph.target(edge);
+                if (settled[target] >= k || lowerBounds[target] == Long.MAX_VALUE || label.visited(target)) {
+                    continue;
+                }
+
+                // changing voyages takes time, staying onboard does not
+                boolean transfer = label.edge() != -1 && graph.voyage(label.edge()) != graph.voyage(edge);
+                long departure = graph.nextDeparture(edge, label.arrival() + (transfer ? transferTime : 0L));
+                long arrival = departure + graph.duration(edge);
+
+                // prune if the destination cannot be reached before the deadline
+                long earliestArrivalAtDestination = arrival + lowerBounds[target];
+                if (earliestArrivalAtDestination >= deadline) {
+                    continue;
+                }
+
+                queue.add(new Label(target, arrival, edge, departure, label, label.legs() + 1,
+                        earliestArrivalAtDestination));
+            }
+        }
+
+        return itineraries.stream()
+                .filter(routeSpecification::isSatisfiedBy)
+                .toList();
+    }
+
+    private Itinerary toItinerary(VoyageScheduleGraph graph, Label destinationLabel, TrackingId trackingId) {
+        Deque<Label> path = new ArrayDeque<>();
+        for (Label label = destinationLabel; label.edge() != -1; label = label.parent()) {
+            path.push(label);
+        }
+
+        // consecutive legs of the same voyage become a single leg: cargo stays onboard
+        List<Leg> legs = new ArrayList<>();
+        Label first = null;
+        Label last = null;
+        for (Label label : path) {
+            if (first != null && graph.voyage(label.edge()) != graph.voyage(first.edge())) {
+                legs.add(toLeg(graph, first, last, trackingId));
+                first = null;
+            }
+            if (first == null) {
+                first = label;
+            }
+            last = label;
+        }
+        legs.add(toLeg(graph, first, last, trackingId));
+
+        return Itinerary.of(legs);
+    }
+
+    private Leg toLeg(VoyageScheduleGraph graph, Label first, Label last, TrackingId trackingId) {
+        return Leg.builder()
+                .cargoTrackingId(trackingId)
+                .voyageNumber(graph.voyageNumber(graph.voyage(first.edge())))
+                .loadLocation(graph.node(first.parent().node()))
+                .unloadLocation(graph.node(last.node()))
+                .loadTime(UtcDateTime.of(Instant.ofEpochMilli(first.departure())))
+                .unloadTime(UtcDateTime.of(Instant.ofEpochMilli(last.arrival())))
+                .build();
+    }
+
+    /*
+        Partial itinerary: arrival at "node" at "arrival" (epoch millis) via "edge"
+        which departed at "departure", "priority" is the earliest possible arrival
+        at the destination.
+     */
+    private record Label(int node, long arrival, int edge, long departure, Label parent, int legs, long priority) {
+
+        boolean visited(int otherNode) {
+            for (Label label = this; label != null; label = label.parent()) {
+                if (label.node() == otherNode) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
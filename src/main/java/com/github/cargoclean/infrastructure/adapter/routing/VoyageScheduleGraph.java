@@ -0,0 +1,280 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+    References:
+    ----------
+
+    1.  Compressed sparse row (CSR) format: https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)
+ */
+
+/**
+ * Immutable graph of a periodic (weekly) voyage schedule. Nodes are locations, each edge
+ * is a scheduled port-to-port leg of a voyage which departs at a fixed offset from the
+ * start of each period.
+ * <p>
+ * The graph is stored in compressed sparse row layout: outgoing edges of node {@code n}
+ * are at indexes {@code [firstEdge[n], firstEdge[n + 1])} of the parallel primitive
+ * arrays describing the edges. The same layout is kept for the reversed graph (incoming
+ * edges), used for calculating lower bounds of travel times to a destination.
+ */
+public class VoyageScheduleGraph {
+
+    public static final Duration PERIOD = Duration.ofDays(7);
+
+    // start of the first period: Monday, 00:00 UTC
+    public static final Instant EPOCH = Instant.parse("2022-01-03T00:00:00Z");
+
+    private static final long PERIOD_MILLIS = PERIOD.toMillis();
+
+    private final UnLocode[] nodes;
+
+    private final Map<UnLocode, Integer> nodeIndexes;
+
+    private final VoyageNumber[] voyages;
+
+    // outgoing edges, sorted by the source node
+    private final int[] firstEdge;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final int[] edgeVoyage;
+    private final long[] edgeDepartureOffset;
+    private final long[] edgeDuration;
+
+    // incoming edges (indexes of outgoing edges), sorted by the target node
+    private final int[] firstIncomingEdge;
+    private final int[] incomingEdge;
+
+    // lower bounds of travel times, by destination node, calculated on first use
+    private final AtomicReferenceArray<long[]> lowerBounds;
+
+    private VoyageScheduleGraph(List<ScheduledLeg> legs) {
+        Map<UnLocode, Integer> indexes = new LinkedHashMap<>();
+        Map<VoyageNumber, Integer> voyageIndexes = new LinkedHashMap<>();
+        legs.forEach(leg -> {
+            indexes.putIfAbsent(leg.from(), indexes.size());
+            indexes.putIfAbsent(leg.to(), indexes.size());
+            voyageIndexes.putIfAbsent(leg.voyageNumber(), voyageIndexes.size());
+        });
+        this.nodeIndexes = Map.copyOf(indexes);
+        this.nodes = indexes.keySet().toArray(UnLocode[]::new);
+        this.voyages = voyageIndexes.keySet().toArray(VoyageNumber[]::new);
+
+        int nodeCount = nodes.length;
+        int edgeCount = legs.size();
+
+        // counting sort of the edges by source node
+        this.firstEdge = new int[nodeCount + 1];
+        legs.forEach(leg -> firstEdge[indexes.get(leg.from()) + 1]++);
+        Arrays.parallelPrefix(firstEdge, Integer::sum);
+
+        this.edgeSource = new int[edgeCount];
+        this.edgeTarget = new int[edgeCount];
+        this.edgeVoyage = new int[edgeCount];
+        this.edgeDepartureOffset = new long[edgeCount];
+        this.edgeDuration = new long[edgeCount];
+        int[] nextSlot = Arrays.copyOf(firstEdge, nodeCount);
+        for (ScheduledLeg leg : legs) {
+            int source = indexes.get(leg.from());
+            int edge = nextSlot[source]++;
+            edgeSource[edge] = source;
+            edgeTarget[edge] = indexes.get(leg.to());
+            edgeVoyage[edge] = voyageIndexes.get(leg.voyageNumber());
+            edgeDepartureOffset[edge] = Math.floorMod(leg.departureOffset().toMillis(), PERIOD_MILLIS);
+            edgeDuration[edge] = leg.arrivalOffset().minus(leg.departureOffset()).toMillis();
+        }
+
+        // same for the reversed graph
+        this.firstIncomingEdge = new int[nodeCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            firstIncomingEdge[edgeTarget[edge] + 1]++;
+        }
+        Arrays.parallelPrefix(firstIncomingEdge, Integer::sum);
+        this.incomingEdge = new int[edgeCount];
+        int[] nextIncomingSlot = Arrays.copyOf(firstIncomingEdge, nodeCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            incomingEdge[nextIncomingSlot[edgeTarget[edge]]++] = edge;
+        }
+
+        this.lowerBounds = new AtomicReferenceArray<>(nodeCount);
+    }
+
+    /**
+     * Builds the graph from scheduled legs.
+     *
+     * @param legs scheduled legs, any order
+     * @return new graph
+     */
+    public static VoyageScheduleGraph of(List<ScheduledLeg> legs) {
+        legs.forEach(leg -> {
+            if (leg.arrivalOffset().compareTo(leg.departureOffset()) <= 0) {
+                throw new IllegalArgumentException("Leg must arrive after it departs: %s".formatted(leg));
+            }
+        });
+        return new VoyageScheduleGraph(legs);
+    }
+
+    /**
+     * Reads the schedule from CSV lines: {@code voyage_number,from,to,departure_offset_hours,arrival_offset_hours}.
+     * Empty lines and lines starting with {@code #} are ignored.
+     *
+     * @param reader reader for the CSV
+     * @return new graph
+     */
+    public static VoyageScheduleGraph fromCsv(Reader reader) {
+        List<ScheduledLeg> legs = new ArrayList<>();
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 5) {
+                    throw new IllegalArgumentException("Invalid line in voyage schedule: %s".formatted(line));
+                }
+                legs.add(new ScheduledLeg(VoyageNumber.of(columns[0].strip()),
+                        UnLocode.of(columns[1].strip()), UnLocode.of(columns[2].strip()),
+                        Duration.ofHours(Long.parseLong(columns[3].strip())),
+                        Duration.ofHours(Long.parseLong(columns[4].strip()))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return of(legs);
+    }
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    public Optional<Integer> nodeIndex(UnLocode unLocode) {
+        return Optional.ofNullable(nodeIndexes.get(unLocode));
+    }
+
+    public UnLocode node(int node) {
+        return nodes[node];
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int lastEdgeExclusive(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int target(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int voyage(int edge) {
+        return edgeVoyage[edge];
+    }
+
+    public VoyageNumber voyageNumber(int voyage) {
+        return voyages[voyage];
+    }
+
+    public long duration(int edge) {
+        return edgeDuration[edge];
+    }
+
+    /**
+     * Returns the earliest departure of the {@code edge} at or after {@code notBefore}.
+     *
+     * @param edge      edge
+     * @param notBefore time (epoch millis)
+     * @return time of departure (epoch millis)
+     */
+    public long nextDeparture(int edge, long notBefore) {
+        long sinceEpoch = notBefore - EPOCH.toEpochMilli() - edgeDepartureOffset[edge];
+        long periods = Math.floorDiv(sinceEpoch + PERIOD_MILLIS - 1, PERIOD_MILLIS);
+        return EPOCH.toEpochMilli() + edgeDepartureOffset[edge] + periods * PERIOD_MILLIS;
+    }
+
+    /**
+     * Returns, for each node, the lower bound of the travel time to the {@code destination}:
+     * shortest path by the durations of the legs alone, ignoring waiting for departures.
+     * Nodes from which the destination cannot be reached get {@link Long#MAX_VALUE}.
+     * <p>
+     * Bounds are calculated once per destination and shared by all the searches on this
+     * graph, the returned array must not be modified.
+     *
+     * @param destination destination node
+     * @return lower bounds of travel times (millis), indexed by node
+     */
+    public long[] travelTimeLowerBounds(int destination) {
+        long[] bounds = lowerBounds.get(destination);
+        if (bounds == null) {
+            // concurrent searches may calculate the same bounds, either result is kept
+            bounds = calculateTravelTimeLowerBounds(destination);
+            if (!lowerBounds.compareAndSet(destination, null, bounds)) {
+                bounds = lowerBounds.get(destination);
+            }
+        }
+        return bounds;
+    }
+
+    // Dijkstra on the reversed graph, with lazy deletion of outdated queue entries
+    private long[] calculateTravelTimeLowerBounds(int destination) {
+        long[] bounds = new long[nodes.length];
+        Arrays.fill(bounds, Long.MAX_VALUE);
+        bounds[destination] = 0L;
+
+        PriorityQueue<NodeBound> queue = new PriorityQueue<>(Comparator.comparingLong(NodeBound::bound));
+        queue.add(new NodeBound(destination, 0L));
+        while (!queue.isEmpty()) {
+            NodeBound nodeBound = queue.poll();
+            int node = nodeBound.node();
+            if (nodeBound.bound() > bounds[node]) {
+                continue;
+            }
+            for (int slot = firstIncomingEdge[node]; slot < firstIncomingEdge[node + 1]; slot++) {
+                int edge = incomingEdge[slot];
+                int source = edgeSource[edge];
+                long bound = bounds[node] + edgeDuration[edge];
+                if (bound < bounds[source]) {
+                    bounds[source] = bound;
+                    queue.add(new NodeBound(source, bound));
+                }
+            }
+        }
+        return bounds;
+    }
+
+    private record NodeBound(int node, long bound) {
+    }
+
+    /**
+     * Scheduled port-to-port leg of a voyage, offsets are from the start of a period.
+     */
+    public record ScheduledLeg(VoyageNumber voyageNumber, UnLocode from, UnLocode to,
+                               Duration departureOffset, Duration arrivalOffset) {
+    }
+
+    @Override
+    public String toString() {
+        return "VoyageScheduleGraph{nodes=%d, edges=%d, voyages=%d}"
+                .formatted(nodes.length, edgeTarget.length, voyages.length);
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks the "last modified" time of the voyage schedule resource
+ * ({@code cargo.routing.schedule}) and, if the schedule was modified since it was
+ * last loaded, loads it again and replaces the schedule of {@link ScheduleRoutingService}.
+ * A schedule which cannot be loaded is logged and the current schedule is kept.
+ */
+@ConditionalOnProperty(prefix = "cargo.routing", name = "engine", havingValue = "schedule", matchIfMissing = true)
+@Component
+@Slf4j
+public class VoyageScheduleReloader implements SmartLifecycle {
+
+    private final ScheduleRoutingService routingService;
+
+    private final Resource schedule;
+
+    private final Duration interval;
+
+    private final ScheduledExecutorService scheduler;
+
+    private long lastModified;
+
+    private volatile boolean running;
+
+    public VoyageScheduleReloader(ScheduleRoutingService routingService, ResourceLoader resourceLoader,
+                                  CargoCleanProperties props) {
+        this.routingService = routingService;
+        this.schedule = resourceLoader.getResource(props.getRouting().getSchedule());
+        this.interval = props.getRouting().getScheduleReloadInterval();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("schedule-reloader-"));
+
+        // schedule was just loaded by the routing service
+        this.lastModified = lastModified();
+    }
+
+    void reloadIfModified() {
+        long modified = lastModified();
+        if (modified == lastModified) {
+            return;
+        }
+        try {
+            VoyageScheduleGraph graph = ScheduleRoutingService.loadSchedule(schedule);
+            routingService.updateSchedule(graph);
+            lastModified = modified;
+            log.info("[Routing] Reloaded modified voyage schedule from {}: {}", schedule, graph);
+        } catch (Exception e) {
+            log.error("[Routing] Cannot reload voyage schedule from {}, keeping the current one", schedule, e);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return schedule.lastModified();
+        } catch (IOException e) {
+            // resource is not a file, cannot tell if it was modified
+            return 0L;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (interval == null) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::reloadIfModified, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
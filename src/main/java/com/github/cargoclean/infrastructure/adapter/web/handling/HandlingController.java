@@ -1,6 +1,9 @@
 package com.github.cargoclean.infrastructure.adapter.web.handling;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.usecase.handling.HandlingEventRegistration;
 import com.github.cargoclean.core.usecase.handling.HandlingInputPort;
 import com.github.cargoclean.infrastructure.adapter.web.AbstractRestController;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -8,18 +11,30 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /*
     References:
@@ -29,6 +44,7 @@ import java.time.Instant;
     2. Date-time API paramter: https://stackoverflow.com/questions/65617640/how-to-use-java-time-instant-with-swagger-2-x
     3. DateTimeFormatter, JavaDoc: https://docs.oracle.com/javase/8/docs/api/java/time/format/DateTimeFormatter.html
     4. Add security in Swagger: https://sabljakovich.medium.com/adding-basic-auth-authorization-option-to-openapi-swagger-documentation-java-spring-95abbede27e9
+    5. Jackson, reading a sequence of root-level values: JavaDoc for "com.fasterxml.jackson.databind.ObjectReader#readValues"
  */
 
 @OpenAPIDefinition(info = @Info(title = "Cargo, Handling Events API",
@@ -43,8 +59,14 @@ import java.time.Instant;
 @RestController
 public class HandlingController extends AbstractRestController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final ApplicationContext applicationContext;
 
+    private final ObjectMapper objectMapper;
+
+    private final CargoCleanProperties props;
+
     @Operation(summary = "Record event", description = "Record handling event")
     @PostMapping("/recordEvent")
     public void recordEvent(
@@ -75,8 +97,59 @@ public class HandlingController extends AbstractRestController {
 
     }
 
+    /*
+        Point of interest:
+        -----------------
+        The body is read as a stream of JSON values: either a single JSON array
+        of events or newline-delimited JSON (one event per line). Malformed JSON
+        rejects the whole request, invalid values reject only the corresponding
+        event (see per-item results returned by the presenter).
+
+        All events of a batch are recorded in one transaction, so the events
+        are read one at a time, and we stop reading as soon as there are more
+        than "max-batch-size" events: the request is rejected (413) without
+        reading the rest of a (possibly huge) body into memory.
+     */
+
+    @Operation(summary = "Record events",
+            description = "Record a batch of handling events: a JSON array or newline-delimited JSON (NDJSON)")
+    @PostMapping(value = "/recordEvents", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public void recordEvents(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Handling events",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = HandlingEventEntry.class))))
+            HttpServletRequest request) throws IOException {
+
+        int maxBatchSize = props.getHandlingEvents().getMaxBatchSize();
+        List<HandlingEventRegistration> registrations = new ArrayList<>();
+        try (MappingIterator<HandlingEventEntry> entries = objectMapper.readerFor(HandlingEventEntry.class)
+                .readValues(request.getInputStream())) {
+            while (entries.hasNextValue()) {
+                if (registrations.size() == maxBatchSize) {
+                    throw new BatchTooLargeError(maxBatchSize);
+                }
+                registrations.add(entries.nextValue().toRegistration());
+            }
+        }
+
+        // register all handling events at once
+        useCase().recordHandlingEvents(registrations);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleBatchTooLarge(BatchTooLargeError e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("error", e.getMessage()));
+    }
+
     private HandlingInputPort useCase() {
         return applicationContext.getBean(HandlingInputPort.class);
     }
 
+    static class BatchTooLargeError extends RuntimeException {
+
+        BatchTooLargeError(int maxBatchSize) {
+            super("Too many handling events in a batch, at most %d events are allowed".formatted(maxBatchSize));
+        }
+    }
+
 }
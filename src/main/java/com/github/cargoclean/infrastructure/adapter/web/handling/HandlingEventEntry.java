@@ -0,0 +1,44 @@
+package com.github.cargoclean.infrastructure.adapter.web.handling;
+
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.usecase.handling.HandlingEventRegistration;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One handling event in a batch posted to {@code /recordEvents}, same parameters
+ * as for {@code /recordEvent}. Values are validated by the use case.
+ */
+@Data
+@NoArgsConstructor
+public class HandlingEventEntry {
+
+    @Schema(description = "Voyage number")
+    private String voyageNumber;
+
+    @Schema(description = "Location: UnLocode")
+    private String location;
+
+    @Schema(description = "Cargo tracking ID")
+    private String cargoId;
+
+    @Schema(description = "Event completion date and time (ISO format, i.e. `2022-12-01T01:29:00Z`)",
+            type = "string", format = "date-time")
+    private Instant completionTime;
+
+    @Schema(description = "Event type: loading, unloading, etc.")
+    private HandlingEventType type;
+
+    HandlingEventRegistration toRegistration() {
+        return HandlingEventRegistration.builder()
+                .voyageNumber(voyageNumber)
+                .location(location)
+                .cargoId(cargoId)
+                .completionTime(completionTime)
+                .type(type)
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.github.cargoclean.infrastructure.adapter.web.handling;
 import com.github.cargoclean.core.model.InvalidDomainObjectError;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.usecase.handling.HandlingEventRegistrationResult;
 import com.github.cargoclean.core.usecase.handling.HandlingPresenterOutputPort;
 import com.github.cargoclean.infrastructure.adapter.web.AbstractRestPresenter;
 import org.springframework.context.annotation.Scope;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 
 import javax.servlet.http.HttpServletResponse;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -26,6 +28,19 @@ public class HandlingPresenter extends AbstractRestPresenter implements Handling
                 .formatted(handlingEvent.getType(), cargoId, handlingEvent.getLocation())));
     }
 
+    @Override
+    public void presentResultOfRegisteringHandlingEvents(List<HandlingEventRegistrationResult> results) {
+        presentOk(results.stream()
+                .map(result -> result.isRegistered() ?
+                        Map.of("index", result.getIndex(),
+                                "status", "registered",
+                                "eventId", result.getHandlingEvent().getEventId().getId()) :
+                        Map.of("index", result.getIndex(),
+                                "status", "rejected",
+                                "error", result.getError()))
+                .toList());
+    }
+
     @Override
     public void presentInvalidParametersError(InvalidDomainObjectError e) {
         presentClientError(e);
@@ -5,6 +5,7 @@ import com.github.cargoclean.infrastructure.adapter.web.AbstractWebController;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
@@ -21,4 +22,11 @@ public class ReportController extends AbstractWebController {
         useCase.reportExpectedArrivals();
     }
 
+    @PostMapping("/rebuildExpectedArrivals")
+    @ResponseBody
+    public void rebuildExpectedArrivals() {
+        ReportInputPort useCase = appContext.getBean(ReportInputPort.class);
+        useCase.rebuildExpectedArrivals();
+    }
+
 }
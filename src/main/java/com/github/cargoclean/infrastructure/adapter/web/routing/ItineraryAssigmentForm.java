@@ -20,4 +20,7 @@ public class ItineraryAssigmentForm {
 
     List<RouteDto> candidateRoutes;
 
+    // ID of the snapshot of the presented candidate routes
+    String candidateRoutesId;
+
 }
@@ -1,5 +1,7 @@
 package com.github.cargoclean.infrastructure.adapter.web.routing;
 
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.port.routing.CandidateRoutesOutputPort;
 import com.github.cargoclean.core.port.routing.RouteDto;
 import com.github.cargoclean.core.usecase.routing.RoutingInputPort;
 import com.github.cargoclean.infrastructure.adapter.web.AbstractWebController;
@@ -13,18 +15,6 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import javax.servlet.http.HttpSession;
-import java.util.List;
-
-/*
-    References:
-    ----------
-
-    1. Thymeleaf, session attributes: https://www.baeldung.com/spring-mvc-session-attributes
-
- */
-
-
 @Controller
 @RequiredArgsConstructor
 @Slf4j
@@ -32,6 +22,8 @@ public class RoutingController extends AbstractWebController {
 
     private final ApplicationContext appContext;
 
+    private final CandidateRoutesOutputPort candidateRoutesOps;
+
     @RequestMapping("/showCargoDetails")
     @ResponseBody
     public void showCargoDetails(@RequestParam String trackingId) {
@@ -59,17 +51,16 @@ public class RoutingController extends AbstractWebController {
     @ResponseBody
     public void assignRoute(@RequestParam String trackingId,
                             @RequestParam Integer selectedRouteIndex,
-                            HttpSession session) {
+                            @RequestParam String candidateRoutesId) {
 
         RoutingInputPort useCase = appContext.getBean(RoutingInputPort.class);
 
-        // get the selected route by accessing the saved list of candidate routes
-        String sessionAttrName = "cargo.%s.candidate.routes".formatted(trackingId.toLowerCase());
-        List<RouteDto> candidateRoutes = (List<RouteDto>) session
-                .getAttribute(sessionAttrName);
-        session.removeAttribute(sessionAttrName);
+        // get the selected route from the snapshot of the presented candidate routes, if it
+        // has expired meanwhile, the use case will present an error to the user
+        RouteDto candidateRouteDto = candidateRoutesOps.selectedRoute(TrackingId.of(trackingId), candidateRoutesId,
+                        selectedRouteIndex)
+                .orElse(null);
 
-        RouteDto candidateRouteDto = candidateRoutes.get(selectedRouteIndex);
         useCase.assignRoute(trackingId, candidateRouteDto);
 
     }
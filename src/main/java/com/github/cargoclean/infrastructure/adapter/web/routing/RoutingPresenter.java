@@ -2,6 +2,7 @@ package com.github.cargoclean.infrastructure.adapter.web.routing;
 
 import com.github.cargoclean.core.model.cargo.Cargo;
 import com.github.cargoclean.core.model.cargo.Itinerary;
+import com.github.cargoclean.core.port.routing.CandidateRoutesOutputPort;
 import com.github.cargoclean.core.port.routing.CargoInfoDto;
 import com.github.cargoclean.core.port.routing.LegDto;
 import com.github.cargoclean.core.port.routing.RouteDto;
@@ -20,8 +21,12 @@ import java.util.Map;
 @Component
 @Scope(scopeName = "request")
 public class RoutingPresenter extends AbstractWebPresenter implements RoutingPresenterOutputPort {
-    public RoutingPresenter(LocalDispatcherServlet dispatcher, HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+    private final CandidateRoutesOutputPort candidateRoutesOps;
+
+    public RoutingPresenter(LocalDispatcherServlet dispatcher, HttpServletRequest httpRequest, HttpServletResponse httpResponse,
+                            CandidateRoutesOutputPort candidateRoutesOps) {
         super(dispatcher, httpRequest, httpResponse);
+        this.candidateRoutesOps = candidateRoutesOps;
     }
 
     @Override
@@ -56,14 +61,20 @@ public class RoutingPresenter extends AbstractWebPresenter implements RoutingPre
         // construct a Response Model by converting itineraries to RouteDto DTOs
         List<RouteDto> candidateRoutes = itineraries.stream().map(this::mapItineraryToRouteDto).toList();
 
-        // store candidate routes in session so that we can access them later
-        storeInSession("cargo.%s.candidate.routes".formatted(cargo.getTrackingId().getId().toLowerCase()), candidateRoutes);
+        /*
+            Point of interest:
+            -----------------
+            We keep (server-side) a snapshot of exactly the routes we are
+            presenting, and pass only its ID with the form, so that the
+            index of the selected route is resolved against the same list.
+         */
 
         ItineraryAssigmentForm itineraryAssigmentForm = ItineraryAssigmentForm.builder()
                 .trackingId(cargo.getTrackingId())
                 .cargoOrigin(cargo.getOrigin())
                 .cargoDestination(cargo.getRouteSpecification().getDestination())
                 .candidateRoutes(candidateRoutes)
+                .candidateRoutesId(candidateRoutesOps.saveCandidateRoutes(cargo.getTrackingId(), candidateRoutes))
                 .build();
 
         presentModelAndView(Map.of("itineraryAssigmentForm", itineraryAssigmentForm), "select-itinerary");
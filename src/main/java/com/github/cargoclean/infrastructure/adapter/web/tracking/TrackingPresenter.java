@@ -59,7 +59,7 @@ public class TrackingPresenter extends AbstractWebPresenter implements TrackingP
 
     @Override
     public void presentCargoTrackingInformation(Cargo cargo, HandlingHistory handlingHistory,
-                                                Map<UnLocode, Location> allLocationsMap) {
+                                                Map<UnLocode, Location> locations) {
 
         /*
             We are preparing all the information to be displayed by the "track cargo" view.
@@ -69,13 +69,13 @@ public class TrackingPresenter extends AbstractWebPresenter implements TrackingP
 
         // resolve last known location, if any
         Location lastKnownLocation = Optional.ofNullable(cargo.getDelivery().getLastKnownLocation())
-                .map(allLocationsMap::get)
+                .map(locations::get)
                 .orElse(Location.UNKNOWN);
 
         // resolve next expected activity, if any
         Location locationForNexExpectedActivity = Optional.ofNullable(cargo.getDelivery().getNextExpectedActivity())
                 .map(HandlingActivity::getLocation)
-                .map(allLocationsMap::get)
+                .map(locations::get)
                 .orElse(Location.UNKNOWN);
 
         // map handling history to the list of events for presentation
@@ -83,7 +83,7 @@ public class TrackingPresenter extends AbstractWebPresenter implements TrackingP
                 .stream()
                 .map(handlingEvent -> HandlingEventTrackingInfo.builder()
                         .expected(isEventExpected(handlingEvent, cargo))
-                        .description(eventDescription(handlingEvent, allLocationsMap))
+                        .description(eventDescription(handlingEvent, locations))
                         .build())
                 .toList();
 
@@ -113,9 +113,9 @@ public class TrackingPresenter extends AbstractWebPresenter implements TrackingP
     /*
         Copied and modified from original "se.citerus.dddsample.interfaces.tracking.CargoTrackingViewAdapter.HandlingEventViewAdapter#getDescription".
      */
-    private String eventDescription(HandlingEvent event, Map<UnLocode, Location> allLocationsMap) {
+    private String eventDescription(HandlingEvent event, Map<UnLocode, Location> locations) {
 
-        final String atLocation = allLocationsMap.get(event.getLocation()).getName();
+        final String atLocation = locations.get(event.getLocation()).getName();
         final String completionTime = event.getCompletionTime().format(DateTimeFormatter.ofPattern("dd.MM.yy HH:mm"));
         return switch (event.getType()) {
             case LOAD -> "Loaded onto voyage %s in %s, at %s"
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 @Controller
@@ -15,8 +16,10 @@ public class WelcomeController {
 
     @RequestMapping("/")
     @ResponseBody
-    public void welcome() {
-        useCase().welcome();
+    public void welcome(@RequestParam(required = false) String after,
+                        @RequestParam(required = false) String routingStatus,
+                        @RequestParam(required = false) String destination) {
+        useCase().welcome(after, routingStatus, destination);
     }
 
     private WelcomeInputPort useCase() {
@@ -1,6 +1,8 @@
 package com.github.cargoclean.infrastructure.adapter.web.welcome;
 
-import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
+import com.github.cargoclean.core.model.cargo.RoutingStatus;
 import com.github.cargoclean.core.usecase.welcome.WelcomePresenterOutputPort;
 import com.github.cargoclean.infrastructure.adapter.web.AbstractWebPresenter;
 import com.github.cargoclean.infrastructure.adapter.web.LocalDispatcherServlet;
@@ -12,8 +14,8 @@ import org.springframework.web.context.WebApplicationContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 @Scope(scopeName = WebApplicationContext.SCOPE_REQUEST)
@@ -24,7 +26,7 @@ public class WelcomePresenter extends AbstractWebPresenter implements WelcomePre
     }
 
     @Override
-    public void presentHomePage(String username, List<CargoInfo> cargoes) {
+    public void presentHomePage(String username, CargoInfoCriteria criteria, CargoInfoPage cargoes) {
 
         final Map<String, Object> model = new HashMap<>();
 
@@ -32,7 +34,15 @@ public class WelcomePresenter extends AbstractWebPresenter implements WelcomePre
             model.put("username", username);
         }
 
-        model.put("cargoes", cargoes);
+        model.put("cargoes", cargoes.getCargoes());
+
+        // filters are kept when going to the next page
+        model.put("routingStatuses", RoutingStatus.values());
+        Optional.ofNullable(criteria.getRoutingStatus())
+                .ifPresent(routingStatus -> model.put("routingStatus", routingStatus.name()));
+        Optional.ofNullable(criteria.getDestination())
+                .ifPresent(destination -> model.put("destination", destination.getCode()));
+        cargoes.nextPage().ifPresent(next -> model.put("nextPage", next.getId()));
 
         presentModelAndView(model, "home");
     }
@@ -1,27 +1,39 @@
 package com.github.cargoclean.infrastructure.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationCacheLoader;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /*
     References
     ----------
 
     1. Custom Caffeine caches: https://stackoverflow.com/questions/44507309/multiple-caffeine-loadingcaches-added-to-spring-caffeinecachemanager/44561626#44561626
+    2. Caffeine, refresh: https://github.com/ben-manes/caffeine/wiki/Refresh
  */
 
 
 @Configuration
 public class CacheConfig {
 
+    private static final int CACHE_REFRESH_THREADS = 2;
+    private static final int CACHE_REFRESH_QUEUE_CAPACITY = 100;
+
     /*
         Point of interest:
         -----------------
@@ -34,25 +46,83 @@ public class CacheConfig {
     @Bean("cacheManager")
     @Qualifier("caffeine")
     @Primary
-    public CacheManager caffeineCacheManager(CargoCleanProperties props) {
+    public CacheManager caffeineCacheManager(CargoCleanProperties props, LocationCacheLoader locationCacheLoader,
+                                             @Qualifier("cacheLoaderExecutor") Executor cacheLoaderExecutor) {
 
         final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
 
         cacheManager.setCacheNames(Collections.emptyList());
 
-        // make cache for locations
+        /*
+            Point of interest:
+            -----------------
+            Location cache is a loading cache: concurrent misses for the
+            same location wait for a single load, and all the missing
+            locations are loaded in bulk. A load runs on the calling thread,
+            within its transaction and with its database connection, so
+            requests never wait for a second connection from the pool.
+            Only the refreshes after "refresh-after-write" run in the
+            background (on a small, bounded executor), while the old value
+            is still served. Entries still expire after "ttl".
+         */
 
         cacheManager.registerCustomCache(props.getLocationCache().getName(),
-                makeCache(props));
+                makeLoadingCache(props.getLocationCache(), locationCacheLoader, cacheLoaderExecutor));
+
+        // make cache for candidate itineraries (by route specification)
+
+        cacheManager.registerCustomCache(props.getItineraryCache().getName(),
+                makeCache(props.getItineraryCache()));
+
+        // make cache for snapshots of candidate routes presented to the users
+
+        cacheManager.registerCustomCache(props.getCandidateRoutesCache().getName(),
+                makeCache(props.getCandidateRoutesCache()));
+
+        // make cache for cargoes, validated by version on each read
+
+        cacheManager.registerCustomCache(props.getCargoCache().getName(),
+                makeCache(props.getCargoCache()));
+
+        // make cache for handling histories of cargoes
+
+        cacheManager.registerCustomCache(props.getHandlingHistoryCache().getName(),
+                makeCache(props.getHandlingHistoryCache()));
 
         return cacheManager;
     }
 
-    private Cache<Object, Object> makeCache(CargoCleanProperties props) {
+    /*
+        Refreshes which do not fit into the queue are discarded, the stale
+        entry is then refreshed on one of its next reads.
+     */
+    @Bean(name = "cacheLoaderExecutor", destroyMethod = "shutdown")
+    public ExecutorService cacheLoaderExecutor() {
+        return new ThreadPoolExecutor(CACHE_REFRESH_THREADS, CACHE_REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(CACHE_REFRESH_QUEUE_CAPACITY),
+                new CustomizableThreadFactory("cache-loader-"),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    private Cache<Object, Object> makeLoadingCache(CargoCleanProperties.CacheConfig cacheProps,
+                                                   CacheLoader<Object, Object> loader, Executor executor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .initialCapacity(cacheProps.getInitCapacity())
+                .maximumSize(cacheProps.getMaximumSize())
+                .expireAfterWrite(cacheProps.getTtl())
+                .executor(executor);
+        if (cacheProps.getRefreshAfterWrite() != null) {
+            // entries read after this are reloaded in the background, before they expire
+            builder.refreshAfterWrite(cacheProps.getRefreshAfterWrite());
+        }
+        return builder.build(loader);
+    }
+
+    private Cache<Object, Object> makeCache(CargoCleanProperties.CacheConfig cacheProps) {
         return Caffeine.newBuilder()
-                .initialCapacity(props.getLocationCache().getInitCapacity())
-                .maximumSize(props.getLocationCache().getMaximumSize())
-                .expireAfterWrite(props.getLocationCache().getTtl())
+                .initialCapacity(cacheProps.getInitCapacity())
+                .maximumSize(cacheProps.getMaximumSize())
+                .expireAfterWrite(cacheProps.getTtl())
                 .build();
     }
 
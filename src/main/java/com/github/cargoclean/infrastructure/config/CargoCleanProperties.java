@@ -29,11 +29,180 @@ public class CargoCleanProperties {
         int initCapacity = 10;
         long maximumSize = 100L;
         Duration ttl = Duration.ofHours(1);
+        // only for loading caches: reload the entries in the background before they expire ("ttl")
+        Duration refreshAfterWrite;
+    }
+
+    /**
+     * How delivery of a cargo is updated after a handling event was recorded:
+     * synchronously, in the thread which recorded the event, asynchronously,
+     * by a dedicated bounded executor, or via a persisted outbox drained by
+     * a relay (possibly on several instances of the application).
+     */
+    public enum DispatchMode {
+        SYNC,
+        ASYNC,
+        OUTBOX
+    }
+
+    @Getter
+    @Setter
+    public static class DeliveryUpdates {
+        DispatchMode mode = DispatchMode.SYNC;
+        int partitions = 4;
+        int queueCapacity = 1000;
+        /*
+            Longest wait for space in a full queue, after which the update
+            is executed by the submitting thread.
+         */
+        Duration submitTimeout = Duration.ofMillis(500);
+        Duration shutdownTimeout = Duration.ofSeconds(30);
+        /*
+            Window during which handling events for the same cargo are collected
+            before the delivery is updated. Asynchronous mode only: ignored in
+            synchronous mode, and in outbox mode the relay already updates each
+            cargo once per batch. Zero means that each event results in a
+            separate update.
+         */
+        Duration coalescingWindow = Duration.ZERO;
+        int outboxBatchSize = 100;
+        Duration outboxPollInterval = Duration.ofSeconds(1);
+        /*
+            Outbox entries of a cargo whose delivery could not be updated are
+            retried after a delay, entries which failed this many times stay
+            in the outbox (dead letters) until resolved manually.
+         */
+        int outboxMaxAttempts = 5;
+        Duration outboxRetryDelay = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Routing engine: in-process search of the voyage schedule or the (random)
+     * graph traversal service from the original "pathfinder" library.
+     */
+    public enum RoutingEngine {
+        SCHEDULE,
+        PATHFINDER
+    }
+
+    @Getter
+    @Setter
+    public static class Routing {
+        RoutingEngine engine = RoutingEngine.SCHEDULE;
+        String schedule = "classpath:routing/voyage-schedule.csv";
+        int maxItineraries = 5;
+        int maxLegs = 6;
+        Duration minimumTransferTime = Duration.ofHours(4);
+        /*
+            Candidate itineraries are cached for all the arrival deadlines
+            falling into the same bucket.
+         */
+        Duration deadlineBucket = Duration.ofDays(1);
+        /*
+            The schedule is reloaded when its resource was modified since
+            it was last loaded, this often. Never reloaded if null.
+         */
+        Duration scheduleReloadInterval = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Preloading of the caches when the application starts, the application
+     * is not ready (readiness probe) until the caches are warmed up.
+     */
+    @Getter
+    @Setter
+    public static class WarmUp {
+        boolean enabled = true;
+        int parallelism = 4;
+        // number of the most recently handled cargoes to preload, none if 0
+        int recentCargoes = 0;
+    }
+
+    /**
+     * Read queries returning a lot of rows fetch them from a cursor, this many
+     * rows at a time.
+     */
+    @Getter
+    @Setter
+    public static class Streaming {
+        int fetchSize = 500;
+    }
+
+    /**
+     * Maintenance of the monthly partitions of handling events, see
+     * "HandlingEventRetention".
+     */
+    @Getter
+    @Setter
+    public static class HandlingEventRetention {
+        boolean enabled = false;
+        Duration interval = Duration.ofHours(24);
+        // number of monthly partitions created ahead of the current month
+        int partitionsAhead = 2;
+        // partitions older than this many months are detached, if all their cargoes are delivered and claimed
+        int retentionMonths = 12;
+        // detaching a partition does not wait longer than this for the lock of "handling_event"
+        Duration detachLockTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Batches of handling events posted to "/recordEvents".
+     */
+    @Getter
+    @Setter
+    public static class HandlingEvents {
+        // larger batches are rejected (413) without reading them whole
+        int maxBatchSize = 1000;
+    }
+
+    /**
+     * Index of regions of all locations, used to check the permission to route
+     * cargoes through special regions. Each instance keeps a snapshot of the
+     * index, which is rebuilt from the database when it is older than "ttl",
+     * so that locations saved by other instances are taken into account.
+     */
+    @Getter
+    @Setter
+    public static class RegionIndex {
+        Duration ttl = Duration.ofMinutes(1);
     }
 
     @NestedConfigurationProperty
     SlowLoad slowLoad = new SlowLoad();
 
+    @NestedConfigurationProperty
+    DeliveryUpdates deliveryUpdates = new DeliveryUpdates();
+
+    @NestedConfigurationProperty
+    Routing routing = new Routing();
+
+    @NestedConfigurationProperty
+    WarmUp warmUp = new WarmUp();
+
+    @NestedConfigurationProperty
+    Streaming streaming = new Streaming();
+
+    @NestedConfigurationProperty
+    HandlingEventRetention handlingEventRetention = new HandlingEventRetention();
+
+    @NestedConfigurationProperty
+    RegionIndex regionIndex = new RegionIndex();
+
+    @NestedConfigurationProperty
+    HandlingEvents handlingEvents = new HandlingEvents();
+
     @Getter
     CacheConfig locationCache = new CacheConfig();
+
+    @Getter
+    CacheConfig itineraryCache = new CacheConfig();
+
+    @Getter
+    CacheConfig candidateRoutesCache = new CacheConfig();
+
+    @Getter
+    CacheConfig cargoCache = new CacheConfig();
+
+    @Getter
+    CacheConfig handlingHistoryCache = new CacheConfig();
 }
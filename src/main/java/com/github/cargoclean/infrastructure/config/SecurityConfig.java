@@ -44,11 +44,11 @@ public class SecurityConfig {
     @Order(1)
     public SecurityFilterChain restSecurityFilterChain(HttpSecurity http) throws Exception {
 
-        // security profile for REST endpoint (record handling events),
+        // security profile for REST endpoints (record handling events),
         // uses HTTP Basic authentication
 
         http.csrf().disable()
-                .antMatcher("/recordEvent/**")
+                .requestMatchers(matchers -> matchers.antMatchers("/recordEvent/**", "/recordEvents/**"))
                 .authorizeRequests()
                 .anyRequest()
                 .permitAll()
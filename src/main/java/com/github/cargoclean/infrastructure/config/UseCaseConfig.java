@@ -29,9 +29,12 @@ import com.github.cargoclean.core.usecase.tracking.TrackingUseCase;
 import com.github.cargoclean.core.usecase.welcome.WelcomeInputPort;
 import com.github.cargoclean.core.usecase.welcome.WelcomePresenterOutputPort;
 import com.github.cargoclean.core.usecase.welcome.WelcomeUseCase;
+import com.github.cargoclean.infrastructure.adapter.events.LoggingHandlingPresenter;
+import com.github.cargoclean.infrastructure.adapter.events.RethrowingHandlingPresenter;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Scope;
 
 /**
@@ -42,6 +45,18 @@ import org.springframework.context.annotation.Scope;
 @Configuration
 public class UseCaseConfig {
 
+    /**
+     * Name of the handling use case bean which can be executed by the system
+     * outside any HTTP request.
+     */
+    public static final String SYSTEM_HANDLING_USE_CASE = "systemHandlingUseCase";
+
+    /**
+     * Name of the handling use case bean used by the outbox relay, it rethrows
+     * any error instead of just presenting it.
+     */
+    public static final String OUTBOX_HANDLING_USE_CASE = "outboxHandlingUseCase";
+
     @Bean
     @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public WelcomeInputPort welcomeUseCase(WelcomePresenterOutputPort presenter,
@@ -73,9 +88,10 @@ public class UseCaseConfig {
     @Bean
     @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public ReportInputPort reportUseCase(ReportPresenterOutputPort presenter,
+                                         SecurityOutputPort securityOps,
                                          PersistenceGatewayOutputPort gatewayOps,
                                          TransactionOperationsOutputPort txOps) {
-        return new ReportUseCase(presenter, gatewayOps, txOps);
+        return new ReportUseCase(presenter, securityOps, gatewayOps, txOps);
     }
 
     @Bean
@@ -88,6 +104,7 @@ public class UseCaseConfig {
     }
 
     @Bean
+    @Primary
     @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public HandlingInputPort handlingUseCase(HandlingPresenterOutputPort presenter,
                                              SecurityOutputPort securityOps,
@@ -97,6 +114,28 @@ public class UseCaseConfig {
         return new HandlingUseCase(presenter, securityOps, gatewayOps, eventsOps, txOps);
     }
 
+    /*
+        Same use case, but presenting through a logging presenter, to be
+        used for asynchronous processing of domain events.
+     */
+    @Bean(SYSTEM_HANDLING_USE_CASE)
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public HandlingInputPort systemHandlingUseCase(SecurityOutputPort securityOps,
+                                                   PersistenceGatewayOutputPort gatewayOps,
+                                                   EventDispatcherOutputPort eventsOps,
+                                                   TransactionOperationsOutputPort txOps) {
+        return new HandlingUseCase(new LoggingHandlingPresenter(), securityOps, gatewayOps, eventsOps, txOps);
+    }
+
+    @Bean(OUTBOX_HANDLING_USE_CASE)
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public HandlingInputPort outboxHandlingUseCase(SecurityOutputPort securityOps,
+                                                   PersistenceGatewayOutputPort gatewayOps,
+                                                   EventDispatcherOutputPort eventsOps,
+                                                   TransactionOperationsOutputPort txOps) {
+        return new HandlingUseCase(new RethrowingHandlingPresenter(), securityOps, gatewayOps, eventsOps, txOps);
+    }
+
     @Bean
     @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public EditLocationsInputPort editLocationsUseCase(EditLocationsPresenterOutputPort presenter,
@@ -0,0 +1,2 @@
+ALTER TABLE public.cargo
+    ADD last_event_completion_time timestamp NULL;
@@ -0,0 +1,10 @@
+-- handling events waiting for the delivery of their cargo to be updated,
+-- no foreign key to "handling_event": entries are short-lived
+CREATE TABLE public.handling_event_outbox
+(
+    id         bigserial NOT NULL,
+    event_id   int8      NOT NULL,
+    cargo_id   varchar   NOT NULL,
+    created_at timestamp NOT NULL DEFAULT now(),
+    CONSTRAINT handling_event_outbox_pk PRIMARY KEY (id)
+);
@@ -0,0 +1,8 @@
+-- event IDs are allocated by the application in blocks (pooled "hi/lo"):
+-- each call to "nextval" reserves the next block of 100 IDs, the increment
+-- must match "DbPersistenceGateway.EVENT_ID_BLOCK_SIZE"
+CREATE SEQUENCE public.handling_event_id_seq INCREMENT BY 100 MINVALUE 1;
+
+-- start after any existing (time-based) event IDs
+SELECT setval('public.handling_event_id_seq', (SELECT COALESCE(MAX(event_id), 0) + 1 FROM public.handling_event),
+              false);
@@ -0,0 +1,5 @@
+-- cargoes are listed by pages ordered by "tracking_id" (primary key), optionally
+-- filtered by routing status or by destination: these indexes let the database
+-- seek directly to the start of the page for each filter
+CREATE INDEX cargo_routing_status_tracking_id_idx ON public.cargo (routing_status, tracking_id);
+CREATE INDEX cargo_spec_destination_tracking_id_idx ON public.cargo (spec_destination, tracking_id);
@@ -0,0 +1,16 @@
+-- number of cargoes expected to arrive at each destination, maintained by the
+-- application each time a cargo is saved or deleted (see "DbPersistenceGateway")
+CREATE TABLE public.expected_arrivals
+(
+    destination varchar NOT NULL,
+    arrivals    int     NOT NULL,
+    CONSTRAINT expected_arrivals_destination_pk PRIMARY KEY (destination)
+);
+
+ALTER TABLE public.expected_arrivals
+    ADD CONSTRAINT expected_arrivals_destination_fk FOREIGN KEY (destination) REFERENCES public."location" (unlocode);
+
+INSERT INTO public.expected_arrivals (destination, arrivals)
+SELECT c.spec_destination, count(*)
+FROM public.cargo c
+GROUP BY c.spec_destination;
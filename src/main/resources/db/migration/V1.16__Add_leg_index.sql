@@ -0,0 +1,2 @@
+-- legs are updated, inserted and deleted individually by cargo and index
+CREATE UNIQUE INDEX leg_cargo_tracking_id_leg_index_idx ON public.leg (cargo_tracking_id, leg_index);
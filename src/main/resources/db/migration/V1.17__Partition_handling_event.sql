@@ -0,0 +1,54 @@
+-- handling events are partitioned by month of registration, old partitions can be
+-- detached (archived) by "HandlingEventRetention"; the primary key of a partitioned
+-- table must include the partition key
+ALTER TABLE public.handling_event
+    RENAME TO handling_event_unpartitioned;
+ALTER TABLE public.handling_event_unpartitioned
+    RENAME CONSTRAINT handling_event_pk TO handling_event_unpartitioned_pk;
+
+CREATE TABLE public.handling_event
+(
+    event_id          int8      NOT NULL,
+    voyage_number     varchar NULL,
+    location          varchar   NOT NULL,
+    cargo_id          varchar   NOT NULL,
+    completion_time   timestamp NOT NULL,
+    registration_time timestamp NOT NULL,
+    "type"            varchar   NOT NULL,
+    "version"         int NULL,
+    CONSTRAINT handling_event_pk PRIMARY KEY (event_id, registration_time),
+    CONSTRAINT handling_event_cargo_fk FOREIGN KEY (cargo_id) REFERENCES public.cargo (tracking_id),
+    CONSTRAINT handling_event_location_fk FOREIGN KEY (location) REFERENCES public."location" (unlocode)
+) PARTITION BY RANGE (registration_time);
+
+-- catches events outside of the monthly partitions, should stay empty
+CREATE TABLE public.handling_event_default PARTITION OF public.handling_event DEFAULT;
+
+-- monthly partitions from the first registered event until two months from now,
+-- next partitions are created ahead of time by "HandlingEventRetention"
+DO
+$$
+    DECLARE
+        partition_month timestamp := date_trunc('month', coalesce(
+                (SELECT min(registration_time) FROM public.handling_event_unpartitioned), now()));
+    BEGIN
+        WHILE partition_month <= date_trunc('month', now()) + interval '2 months'
+            LOOP
+                EXECUTE format('CREATE TABLE public.%I PARTITION OF public.handling_event FOR VALUES FROM (%L) TO (%L)',
+                               'handling_event_y' || to_char(partition_month, 'YYYY') || 'm' ||
+                               to_char(partition_month, 'MM'),
+                               partition_month, partition_month + interval '1 month');
+                partition_month := partition_month + interval '1 month';
+            END LOOP;
+    END
+$$;
+
+INSERT INTO public.handling_event (event_id, voyage_number, location, cargo_id, completion_time, registration_time,
+                                   "type", "version")
+SELECT event_id, voyage_number, location, cargo_id, completion_time, registration_time, "type", "version"
+FROM public.handling_event_unpartitioned;
+
+DROP TABLE public.handling_event_unpartitioned;
+
+-- handling history of a cargo is looked up by cargo and ordered by completion time
+CREATE INDEX handling_event_cargo_id_completion_time_idx ON public.handling_event (cargo_id, completion_time);
@@ -0,0 +1,8 @@
+-- failed outbox entries are retried later, up to a maximum number of attempts,
+-- entries which failed too many times stay in the outbox as dead letters
+ALTER TABLE public.handling_event_outbox
+    ADD COLUMN attempts int4 NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at timestamp NOT NULL DEFAULT now();
+
+-- entries are processed one cargo at a time
+CREATE INDEX handling_event_outbox_cargo_id_idx ON public.handling_event_outbox (cargo_id, id);
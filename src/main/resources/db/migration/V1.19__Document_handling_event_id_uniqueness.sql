@@ -0,0 +1,6 @@
+-- the primary key of the partitioned "handling_event" table must include the partition
+-- key, so "(event_id, registration_time)" no longer makes "event_id" unique on its own
+COMMENT ON COLUMN public.handling_event.event_id IS
+    'Unique by allocation only: IDs are taken from "handling_event_id_seq" (in blocks), the database '
+        'does not enforce the uniqueness, since the primary key also includes "registration_time". '
+        'Events must not be inserted with IDs which were not allocated from the sequence.';
@@ -0,0 +1,46 @@
+package com.github.cargoclean.core.model;
+
+import com.github.cargoclean.core.model.location.UnLocode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InternTableTest {
+
+    @Test
+    void should_return_same_instance_for_same_code() {
+        AtomicInteger created = new AtomicInteger();
+        InternTable<UnLocode> table = new InternTable<>(16, code -> {
+            created.incrementAndGet();
+            return new UnLocode(code);
+        }, UnLocode::getCode);
+
+        UnLocode first = table.get("USDAL");
+        UnLocode second = table.get(new String("USDAL"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void should_replace_value_in_slot_when_table_is_full() {
+        InternTable<UnLocode> table = new InternTable<>(1, UnLocode::new, UnLocode::getCode);
+
+        UnLocode dallas = table.get("USDAL");
+        UnLocode melbourne = table.get("AUMEL");
+
+        assertThat(melbourne).isEqualTo(UnLocode.of("AUMEL"));
+        assertThat(table.get("USDAL")).isEqualTo(dallas).isNotSameAs(dallas);
+    }
+
+    @Test
+    void should_validate_code_with_factory_of_table() {
+        InternTable<UnLocode> table = new InternTable<>(16, UnLocode::new, UnLocode::getCode);
+
+        assertThrows(InvalidDomainObjectError.class, () -> table.get("US-DAL"));
+        assertThrows(InvalidDomainObjectError.class, () -> table.get(null));
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.cargoclean.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UtcDateTimeTest {
+
+    @Test
+    void should_compare_date_times_by_instant() {
+        UtcDateTime earlier = UtcDateTime.of(Instant.parse("2022-07-05T10:15:30.000000001Z"));
+        UtcDateTime later = UtcDateTime.of(Instant.parse("2022-07-05T10:15:30.000000002Z"));
+
+        assertThat(later.isAfter(earlier)).isTrue();
+        assertThat(earlier.isAfter(later)).isFalse();
+        assertThat(earlier).isLessThan(later)
+                .isEqualTo(new UtcDateTime(ZonedDateTime.parse("2022-07-05T12:15:30.000000001+02:00")))
+                .hasSameHashCodeAs(UtcDateTime.of(Instant.parse("2022-07-05T10:15:30.000000001Z")));
+    }
+
+    @Test
+    void should_convert_to_zoned_date_time_at_utc() {
+        UtcDateTime dateTime = UtcDateTime.of("05-07-2022").plusDays(1).plusSeconds(3600 + 60);
+
+        assertThat(dateTime.toDateTimeAtUtc())
+                .isEqualTo(ZonedDateTime.of(2022, 7, 6, 1, 1, 0, 0, ZoneOffset.UTC));
+        assertThat(dateTime.atStartOfDay()).isEqualTo(UtcDateTime.of("06-07-2022"));
+        assertThat(dateTime.plusMonths(1).atStartOfDay()).isEqualTo(UtcDateTime.of("06-08-2022"));
+        assertThat(dateTime).hasToString("06-07-2022 01:01");
+    }
+
+    @Test
+    void should_convert_from_and_to_date_before_epoch() {
+        Date date = new Date(-1500L);
+
+        UtcDateTime dateTime = UtcDateTime.of(date);
+
+        assertThat(dateTime.toInstant()).isEqualTo(Instant.ofEpochMilli(-1500L));
+        assertThat(dateTime.getDate()).isEqualTo(date);
+    }
+
+    @Test
+    void should_recognize_end_of_days_as_unknown() {
+        assertThat(UtcDateTime.END_OF_DAYS.isUnknown()).isTrue();
+        assertThat(UtcDateTime.of(Instant.ofEpochMilli(Long.MAX_VALUE)).isUnknown()).isTrue();
+        assertThat(UtcDateTime.now().isUnknown()).isFalse();
+    }
+}
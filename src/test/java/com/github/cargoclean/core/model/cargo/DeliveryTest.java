@@ -3,20 +3,36 @@ package com.github.cargoclean.core.model.cargo;
 import com.github.cargoclean.core.model.UtcDateTime;
 import com.github.cargoclean.core.model.handling.EventId;
 import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
 import com.github.cargoclean.core.model.handling.HandlingHistory;
 import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.core.model.voyage.VoyageNumber;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
 
+import static com.github.cargoclean.core.model.MockModels.cargo;
 import static com.github.cargoclean.core.model.MockModels.itinerary;
 import static com.github.cargoclean.core.model.MockModels.routeSpecification;
 import static com.github.cargoclean.core.model.handling.HandlingEventType.LOAD;
+import static com.github.cargoclean.core.model.handling.HandlingEventType.UNLOAD;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class DeliveryTest {
 
+    private static final List<UnLocode> LOCATIONS = List.of(UnLocode.of("USDAL"), UnLocode.of("AUMEL"),
+            UnLocode.of("JNTKO"), UnLocode.of("NLRTM"));
+
+    private static final List<VoyageNumber> VOYAGES = List.of(VoyageNumber.of("0100S"), VoyageNumber.of("0200S"),
+            VoyageNumber.of("0300A"));
+
     @Test
     void must_calculate_transport_status_from_handling_history() {
 
@@ -35,4 +51,154 @@ public class DeliveryTest {
 
         Assertions.assertThat(delivery.getTransportStatus()).isEqualTo(TransportStatus.ONBOARD_CARRIER);
     }
+
+    @Test
+    void must_apply_event_completed_after_last_event_without_loading_history() {
+        Cargo routedCargo = cargo("8E062F47").assignItinerary(itinerary(1, 2))
+                .updateDeliveryProgress(HandlingHistory.EMPTY_HISTORY);
+
+        HandlingEvent unload = event(1L, UNLOAD, "AUMEL", "0100S", "23-07-2022");
+
+        Cargo updatedCargo = routedCargo.updateDeliveryProgress(unload, () -> {
+            throw new AssertionError("Handling history should not be loaded");
+        });
+
+        assertThat(updatedCargo.getDelivery().getTransportStatus()).isEqualTo(TransportStatus.IN_PORT);
+        assertThat(updatedCargo.getDelivery().getLastKnownLocation()).isEqualTo(UnLocode.of("AUMEL"));
+        assertThat(updatedCargo.getDelivery().getLastEventCompletionTime()).isEqualTo(UtcDateTime.of("23-07-2022"));
+        assertThat(updatedCargo.getDelivery().getNextExpectedActivity())
+                .isEqualTo(new HandlingActivity(LOAD, UnLocode.of("AUMEL"), VoyageNumber.of("0200S")));
+    }
+
+    @Test
+    void must_fall_back_to_full_history_for_event_arriving_out_of_order() {
+        HandlingEvent load = event(1L, LOAD, "USDAL", "0100S", "05-07-2022");
+        HandlingEvent unload = event(2L, UNLOAD, "AUMEL", "0100S", "23-07-2022");
+
+        Cargo routedCargo = cargo("8E062F47").assignItinerary(itinerary(1, 2));
+        Cargo cargoAfterUnload = routedCargo.updateDeliveryProgress(history(List.of(unload)));
+
+        AtomicBoolean historyLoaded = new AtomicBoolean(false);
+        Cargo updatedCargo = cargoAfterUnload.updateDeliveryProgress(load, () -> {
+            historyLoaded.set(true);
+            return history(List.of(unload, load));
+        });
+
+        assertThat(historyLoaded).isTrue();
+        assertThat(updatedCargo.getDelivery().getTransportStatus()).isEqualTo(TransportStatus.IN_PORT);
+        assertThat(updatedCargo.getDelivery().getLastKnownLocation()).isEqualTo(UnLocode.of("AUMEL"));
+    }
+
+    @Test
+    void must_apply_only_latest_of_several_new_events_without_loading_history() {
+        Cargo routedCargo = cargo("8E062F47").assignItinerary(itinerary(1, 2))
+                .updateDeliveryProgress(HandlingHistory.EMPTY_HISTORY);
+
+        HandlingEvent load = event(1L, LOAD, "USDAL", "0100S", "05-07-2022");
+        HandlingEvent unload = event(2L, UNLOAD, "AUMEL", "0100S", "23-07-2022");
+
+        Cargo updatedCargo = routedCargo.updateDeliveryProgress(List.of(unload, load), () -> {
+            throw new AssertionError("Handling history should not be loaded");
+        });
+
+        assertThat(updatedCargo.getDelivery())
+                .usingRecursiveComparison()
+                .ignoringFields("lastEvent")
+                .isEqualTo(routedCargo.updateDeliveryProgress(history(List.of(load, unload))).getDelivery());
+    }
+
+    @Test
+    void must_fall_back_to_full_history_if_several_new_events_were_completed_at_same_time() {
+        Cargo routedCargo = cargo("8E062F47").assignItinerary(itinerary(1, 2))
+                .updateDeliveryProgress(HandlingHistory.EMPTY_HISTORY);
+
+        HandlingEvent load = event(1L, LOAD, "USDAL", "0100S", "05-07-2022");
+        HandlingEvent unload = event(2L, UNLOAD, "AUMEL", "0100S", "05-07-2022");
+
+        AtomicBoolean historyLoaded = new AtomicBoolean(false);
+        routedCargo.updateDeliveryProgress(List.of(load, unload), () -> {
+            historyLoaded.set(true);
+            return history(List.of(load, unload));
+        });
+
+        assertThat(historyLoaded).isTrue();
+    }
+
+    @Test
+    void must_fall_back_to_full_history_if_time_of_last_event_is_unknown() {
+        // delivery persisted without the completion time of the last event
+        Cargo cargo = cargo("75FC0BD4");
+        assertThat(cargo.getDelivery().canApply(event(1L, LOAD, "USDAL", "0100S", "05-07-2022")))
+                .isFalse();
+    }
+
+    /*
+        Property: for any sequence of handling events (arriving in any order), delivery
+        updated incrementally event by event is the same as the delivery derived from
+        the full handling history after each event.
+     */
+    @ParameterizedTest
+    @MethodSource("randomSeeds")
+    void incremental_and_full_calculation_of_delivery_must_give_same_results(long seed) {
+        Random random = new Random(seed);
+
+        Cargo cargo = cargo("8E062F47").assignItinerary(itinerary(1, 2))
+                .updateDeliveryProgress(HandlingHistory.EMPTY_HISTORY);
+
+        List<HandlingEvent> recordedEvents = new ArrayList<>();
+        Cargo incrementallyUpdatedCargo = cargo;
+        int numberOfEvents = 1 + random.nextInt(15);
+        for (long eventId = 1; eventId <= numberOfEvents; eventId++) {
+            HandlingEvent event = randomEvent(random, eventId);
+            recordedEvents.add(event);
+            HandlingHistory history = history(recordedEvents);
+
+            incrementallyUpdatedCargo = incrementallyUpdatedCargo.updateDeliveryProgress(event, () -> history);
+            Cargo fullyUpdatedCargo = cargo.updateDeliveryProgress(history);
+
+            assertThat(incrementallyUpdatedCargo.getDelivery())
+                    .describedAs("Seed: %d, events: %s", seed, recordedEvents)
+                    .usingRecursiveComparison()
+                    .ignoringFields("lastEvent")
+                    .isEqualTo(fullyUpdatedCargo.getDelivery());
+        }
+    }
+
+    static LongStream randomSeeds() {
+        return LongStream.range(0, 200);
+    }
+
+    private static HandlingEvent randomEvent(Random random, long eventId) {
+        HandlingEventType type = HandlingEventType.values()[random.nextInt(HandlingEventType.values().length)];
+        UtcDateTime completionTime = UtcDateTime.of("01-07-2022")
+                .plusSeconds(3600L * random.nextInt(24 * 45));
+        return HandlingEvent.builder()
+                .eventId(EventId.of(eventId))
+                .type(type)
+                .location(LOCATIONS.get(random.nextInt(LOCATIONS.size())))
+                .voyageNumber(type.requiresVoyage() ? VOYAGES.get(random.nextInt(VOYAGES.size())) : null)
+                .cargoId(TrackingId.of("8E062F47"))
+                .completionTime(completionTime)
+                .registrationTime(completionTime)
+                .build();
+    }
+
+    private static HandlingEvent event(long eventId, HandlingEventType type, String location,
+                                       String voyageNumber, String completionDate) {
+        return HandlingEvent.builder()
+                .eventId(EventId.of(eventId))
+                .type(type)
+                .location(UnLocode.of(location))
+                .voyageNumber(VoyageNumber.of(voyageNumber))
+                .cargoId(TrackingId.of("8E062F47"))
+                .completionTime(UtcDateTime.of(completionDate))
+                .registrationTime(UtcDateTime.of(completionDate))
+                .build();
+    }
+
+    private static HandlingHistory history(List<HandlingEvent> events) {
+        return HandlingHistory.builder()
+                .handlingEvents(List.copyOf(events))
+                .build();
+    }
 }
@@ -1,11 +1,19 @@
 package com.github.cargoclean.core.model.cargo;
 
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.github.cargoclean.core.model.MockModels.itinerary;
 import static com.github.cargoclean.core.model.MockModels.leg;
+import static com.github.cargoclean.core.model.handling.HandlingEventType.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ItineraryTest {
@@ -32,4 +40,56 @@ public class ItineraryTest {
                 .hasSize(2);
 
     }
+
+    @Test
+    void should_expect_load_and_unload_only_for_matching_location_and_voyage() {
+        Itinerary itinerary = itinerary(1, 2);
+
+        assertThat(itinerary.isExpected(event(RECEIVE, "USDAL", null))).isTrue();
+        assertThat(itinerary.isExpected(event(LOAD, "AUMEL", "0200S"))).isTrue();
+        assertThat(itinerary.isExpected(event(LOAD, "AUMEL", "0100S"))).isFalse();
+        assertThat(itinerary.isExpected(event(UNLOAD, "AUMEL", "0100S"))).isTrue();
+        assertThat(itinerary.isExpected(event(UNLOAD, "JNTKO", "0100S"))).isFalse();
+        assertThat(itinerary.isExpected(event(CLAIM, "JNTKO", null))).isTrue();
+        assertThat(itinerary.isExpected(event(CLAIM, "AUMEL", null))).isFalse();
+    }
+
+    @Test
+    void should_find_first_leg_loading_or_unloading_at_location() {
+        Itinerary itinerary = itinerary(1, 2);
+
+        assertThat(itinerary.indexOfFirstLegLoadingAt(UnLocode.of("AUMEL"))).isEqualTo(1);
+        assertThat(itinerary.indexOfFirstLegUnloadingAt(UnLocode.of("AUMEL"))).isZero();
+        assertThat(itinerary.indexOfFirstLegLoadingAt(UnLocode.of("JNTKO"))).isEqualTo(-1);
+    }
+
+    @Test
+    void should_not_consider_lookup_tables_part_of_itinerary_value() {
+        Itinerary itinerary = itinerary(1, 2);
+        Itinerary sameItinerary = itinerary(1, 2);
+
+        itinerary.isExpected(event(LOAD, "AUMEL", "0200S"));
+
+        assertThat(itinerary).isEqualTo(sameItinerary)
+                .hasSameHashCodeAs(sameItinerary)
+                .hasToString(sameItinerary.toString());
+    }
+
+    @Test
+    void should_return_intermediate_legs() {
+        assertThat(itinerary(1, 2).intermediate()).isEmpty();
+        assertThat(itinerary(1, 2, 1).intermediate()).containsExactly(leg(2));
+    }
+
+    private static HandlingEvent event(HandlingEventType type, String location, String voyageNumber) {
+        return HandlingEvent.builder()
+                .eventId(EventId.of(1L))
+                .type(type)
+                .location(UnLocode.of(location))
+                .voyageNumber(voyageNumber == null ? null : VoyageNumber.of(voyageNumber))
+                .cargoId(TrackingId.of("8E062F47"))
+                .completionTime(UtcDateTime.of("05-07-2022"))
+                .registrationTime(UtcDateTime.of("05-07-2022"))
+                .build();
+    }
 }
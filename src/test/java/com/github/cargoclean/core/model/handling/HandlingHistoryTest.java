@@ -46,4 +46,45 @@ public class HandlingHistoryTest {
         assertThat(handlingHistory.mostRecentlyCompletedEvent())
                 .hasValue(event2);
     }
+
+    @Test
+    void adding_events_should_give_same_history_as_building_it_from_all_events() {
+        UtcDateTime time = UtcDateTime.now();
+        HandlingEvent receive = event(1L, null, "AUMEL", HandlingEventType.RECEIVE, time);
+        HandlingEvent load = event(2L, "0100S", "AUMEL", HandlingEventType.LOAD, time.plusSeconds(10L));
+        HandlingEvent unload = event(3L, "0100S", "USNYC", HandlingEventType.UNLOAD, time.plusSeconds(20L));
+        HandlingEvent customs = event(4L, null, "USNYC", HandlingEventType.CUSTOMS, time.plusSeconds(20L));
+        HandlingEvent loadAgain = event(5L, "0100S", "AUMEL", HandlingEventType.LOAD, time.plusSeconds(15L));
+        HandlingEvent loadEarlier = event(6L, "0100S", "AUMEL", HandlingEventType.LOAD, time.plusSeconds(5L));
+
+        List<HandlingEvent> recorded = List.of(receive, unload);
+        List<HandlingEvent> newEvents = List.of(customs, load, loadAgain, loadEarlier);
+
+        HandlingHistory appended = HandlingHistory.builder()
+                .handlingEvents(recorded)
+                .build()
+                .withEvents(newEvents);
+        HandlingHistory built = HandlingHistory.builder()
+                .handlingEvents(List.of(receive, unload, customs, load, loadAgain, loadEarlier))
+                .build();
+
+        assertThat(appended.historyOfEvents())
+                .extracting(HandlingEvent::getEventId)
+                .containsExactlyElementsOf(built.historyOfEvents().stream().map(HandlingEvent::getEventId).toList())
+                .containsExactly(EventId.of(1L), EventId.of(5L), EventId.of(3L), EventId.of(4L));
+        assertThat(appended.mostRecentlyCompletedEvent()).hasValue(built.mostRecentlyCompletedEvent().orElseThrow());
+    }
+
+    private static HandlingEvent event(long eventId, String voyageNumber, String location,
+                                       HandlingEventType type, UtcDateTime completionTime) {
+        return HandlingEvent.builder()
+                .eventId(EventId.of(eventId))
+                .voyageNumber(voyageNumber == null ? null : VoyageNumber.of(voyageNumber))
+                .cargoId(TrackingId.of("C1"))
+                .location(UnLocode.of(location))
+                .type(type)
+                .completionTime(completionTime)
+                .registrationTime(completionTime)
+                .build();
+    }
 }
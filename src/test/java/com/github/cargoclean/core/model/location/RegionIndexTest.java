@@ -0,0 +1,42 @@
+package com.github.cargoclean.core.model.location;
+
+import com.github.cargoclean.core.model.MockModels;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RegionIndexTest {
+
+    @Test
+    void should_index_locations_by_region() {
+        RegionIndex index = RegionIndex.of(MockModels.allLocations().values());
+
+        assertThat(index.size()).isEqualTo(6);
+        assertThat(index.isIn(UnLocode.of("NLRTM"), Region.EUROPE)).isTrue();
+        assertThat(index.isIn(UnLocode.of("JNTKO"), Region.EUROPE)).isFalse();
+        assertThat(index.regionOf(UnLocode.of("AUMEL"))).contains(Region.OCEANIA);
+        assertThat(index.regionOf(UnLocode.of("USNYC"))).isEmpty();
+        assertThat(index.locationsIn(Region.EUROPE))
+                .containsExactlyInAnyOrder(UnLocode.of("NLRTM"), UnLocode.of("SEGOT"), UnLocode.of("FIHEL"));
+        assertThat(index.locationsIn(Region.AFRICA)).isEmpty();
+    }
+
+    @Test
+    void should_return_new_index_with_updated_location() {
+        RegionIndex index = RegionIndex.of(MockModels.allLocations().values());
+        Location tokyo = MockModels.location("JNTKO");
+
+        assertThat(index.withLocation(tokyo)).isSameAs(index);
+
+        RegionIndex updated = index.withLocation(Location.builder()
+                .unlocode(tokyo.getUnlocode())
+                .name(tokyo.getName())
+                .region(Region.EUROPE)
+                .build());
+        assertThat(updated.isIn(UnLocode.of("JNTKO"), Region.EUROPE)).isTrue();
+        assertThat(updated.locationsIn(Region.ASIA)).isEmpty();
+
+        // original snapshot is not changed
+        assertThat(index.isIn(UnLocode.of("JNTKO"), Region.ASIA)).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.cargoclean.core.model.location;
+
+import com.github.cargoclean.core.model.InvalidDomainObjectError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UnLocodeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"USDAL", "usdal", "JNTKO", "CNSH2", "AB239", "deHAM"})
+    void should_accept_valid_un_locode(String code) {
+        assertThat(UnLocode.of(code).getCode())
+                .isEqualTo(code.toUpperCase());
+    }
+
+    @Test
+    void should_return_same_instance_regardless_of_case() {
+        UnLocode unLocode = UnLocode.of("USDAL");
+
+        assertThat(UnLocode.of("usdal")).isSameAs(unLocode);
+        assertThat(UnLocode.of("UsDaL")).isSameAs(unLocode);
+        assertThat(UnLocode.of("USDAL")).isSameAs(unLocode);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "USDA", "USDALL", "U1DAL", "12345", "USDA1", "USDA0", "US DAL", "ÄSDAL"})
+    void should_reject_invalid_un_locode(String code) {
+        assertThrows(InvalidDomainObjectError.class, () -> UnLocode.of(code));
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.cargoclean.core.usecase.handling;
+
+import com.github.cargoclean.core.model.MockModels;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.location.Location;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.port.ErrorHandlingPresenterOutputPort;
+import com.github.cargoclean.core.port.events.EventDispatcherOutputPort;
+import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
+import com.github.cargoclean.core.usecase.AbstractUseCaseTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HandlingUseCaseTest extends AbstractUseCaseTestSupport {
+
+    @Mock
+    private HandlingPresenterOutputPort presenter;
+
+    @Mock
+    private PersistenceGatewayOutputPort gatewayOps;
+
+    @Mock
+    private EventDispatcherOutputPort eventsOps;
+
+    private HandlingInputPort useCase;
+
+    @BeforeEach
+    void setUp() {
+        commonSetUp();
+
+        lenient().when(gatewayOps.nextEventIds(anyInt()))
+                .thenAnswer(invocation -> LongStream.rangeClosed(1, invocation.<Integer>getArgument(0))
+                        .mapToObj(EventId::of).toList());
+        lenient().when(gatewayOps.locationsByUnLocodes(anySet()))
+                .thenAnswer(invocation -> MockModels.allLocations().values().stream()
+                        .filter(location -> invocation.<Set<UnLocode>>getArgument(0).contains(location.getUnlocode()))
+                        .collect(Collectors.toMap(Location::getUnlocode, Function.identity())));
+        lenient().when(gatewayOps.existingTrackingIds(anySet()))
+                .thenAnswer(invocation -> invocation.<Set<TrackingId>>getArgument(0).stream()
+                        .filter(trackingId -> !trackingId.getId().equals("FFFFFFFF"))
+                        .collect(Collectors.toSet()));
+
+        useCase = new HandlingUseCase(presenter, securityOps, gatewayOps, eventsOps, txOps);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void should_record_valid_events_of_batch_and_reject_invalid_ones() {
+
+        useCase.recordHandlingEvents(List.of(
+                registration("0100S", "USDAL", "75FC0BD4", HandlingEventType.LOAD),
+                // invalid location code
+                registration("0100S", "dallas", "75FC0BD4", HandlingEventType.LOAD),
+                // unknown location
+                registration("0100S", "XXXXX", "75FC0BD4", HandlingEventType.UNLOAD),
+                // unknown cargo
+                registration(null, "USDAL", "FFFFFFFF", HandlingEventType.RECEIVE),
+                registration("0100S", "AUMEL", "75FC0BD4", HandlingEventType.UNLOAD)));
+
+        noErrorsWerePresented();
+
+        ArgumentCaptor<List<HandlingEvent>> eventsArg = ArgumentCaptor.forClass(List.class);
+        verify(gatewayOps, times(1)).recordHandlingEvents(eventsArg.capture());
+        assertThat(eventsArg.getValue())
+                .extracting(HandlingEvent::getEventId, HandlingEvent::getLocation)
+                .containsExactly(tuple(EventId.of(1L), UnLocode.of("USDAL")),
+                        tuple(EventId.of(2L), UnLocode.of("AUMEL")));
+        // IDs are allocated only for the valid events, locations are looked up by distinct codes
+        verify(gatewayOps, times(1)).nextEventIds(2);
+        verify(gatewayOps, times(1)).locationsByUnLocodes(Set.of(UnLocode.of("USDAL"), UnLocode.of("XXXXX"),
+                UnLocode.of("AUMEL")));
+        verify(eventsOps, times(2)).dispatch(any(HandlingEvent.class));
+
+        ArgumentCaptor<List<HandlingEventRegistrationResult>> resultsArg = ArgumentCaptor.forClass(List.class);
+        verify(presenter, times(1)).presentResultOfRegisteringHandlingEvents(resultsArg.capture());
+        assertThat(resultsArg.getValue())
+                .extracting(HandlingEventRegistrationResult::getIndex, HandlingEventRegistrationResult::isRegistered)
+                .containsExactly(tuple(0, true), tuple(1, false), tuple(2, false), tuple(3, false), tuple(4, true));
+        assertThat(resultsArg.getValue().get(3).getError()).contains("FFFFFFFF");
+
+        verify(securityOps, times(1)).assertThatUserIsManager();
+    }
+
+    @Test
+    void should_not_open_transaction_if_all_events_of_batch_are_invalid() {
+
+        useCase.recordHandlingEvents(List.of(registration("0100S", "USDAL", "75FC0BD4", null)));
+
+        verify(gatewayOps, never()).recordHandlingEvents(anyList());
+        verify(gatewayOps, never()).nextEventIds(anyInt());
+        verifyNoInteractions(eventsOps);
+        verify(presenter, times(1)).presentResultOfRegisteringHandlingEvents(argThat(results ->
+                results.size() == 1 && !results.get(0).isRegistered()));
+    }
+
+    private static HandlingEventRegistration registration(String voyageNumber, String location, String cargoId,
+                                                          HandlingEventType type) {
+        return HandlingEventRegistration.builder()
+                .voyageNumber(voyageNumber)
+                .location(location)
+                .cargoId(cargoId)
+                .completionTime(Instant.parse("2022-07-05T10:00:00Z"))
+                .type(type)
+                .build();
+    }
+
+    @Override
+    protected ErrorHandlingPresenterOutputPort getPresenter() {
+        return presenter;
+    }
+}
@@ -40,7 +40,7 @@ class ReportUseCaseTest extends AbstractUseCaseTestSupport {
     @BeforeEach
     void setUp() {
         super.commonSetUp();
-        useCase = new ReportUseCase(presenter, gatewayOps, txOps);
+        useCase = new ReportUseCase(presenter, securityOps, gatewayOps, txOps);
     }
 
     @Override
@@ -102,4 +102,35 @@ class ReportUseCaseTest extends AbstractUseCaseTestSupport {
         verify(presenter, times(1)).presentError(any(RuntimeException.class));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void rebuildExpectedArrivals_success() {
+        // Arrange
+        List<ExpectedArrivals> expectedArrivalsList = Collections.singletonList(
+                new ExpectedArrivals("USNYC", 10)
+        );
+        when(gatewayOps.rebuildExpectedArrivals()).thenReturn(expectedArrivalsList);
+
+        // Act
+        useCase.rebuildExpectedArrivals();
+
+        // Assert
+        verify(securityOps, times(1)).assertThatUserIsManager();
+        verify(presenter, times(1)).presentExpectedArrivals(expectedArrivalsList);
+
+        noErrorsWerePresented();
+    }
+
+    @Test
+    void rebuildExpectedArrivals_notManager() {
+        // Arrange
+        doThrow(new SecurityException("Not a manager")).when(securityOps).assertThatUserIsManager();
+
+        // Act
+        useCase.rebuildExpectedArrivals();
+
+        // Assert
+        verify(gatewayOps, never()).rebuildExpectedArrivals();
+        verify(presenter, times(1)).presentError(any(SecurityException.class));
+    }
+}
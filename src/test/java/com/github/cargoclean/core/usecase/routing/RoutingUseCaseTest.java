@@ -1,11 +1,13 @@
 package com.github.cargoclean.core.usecase.routing;
 
 import com.github.cargoclean.core.AlwaysOkSecurity;
+import com.github.cargoclean.core.model.MockModels;
 import com.github.cargoclean.core.model.UtcDateTime;
 import com.github.cargoclean.core.model.cargo.Cargo;
 import com.github.cargoclean.core.model.cargo.Leg;
 import com.github.cargoclean.core.model.cargo.RoutingError;
 import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.RegionIndex;
 import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.core.port.ErrorHandlingPresenterOutputPort;
 import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
@@ -47,6 +49,9 @@ public class RoutingUseCaseTest extends AbstractUseCaseTestSupport {
     @BeforeEach
     void setUp() {
         commonSetUp();
+
+        lenient().when(gatewayOps.regionIndex())
+                .thenReturn(RegionIndex.of(MockModels.allLocations().values()));
     }
 
     @Test
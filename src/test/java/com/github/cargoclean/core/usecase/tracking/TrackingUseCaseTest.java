@@ -0,0 +1,111 @@
+package com.github.cargoclean.core.usecase.tracking;
+
+import com.github.cargoclean.core.model.MockModels;
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.Cargo;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingHistory;
+import com.github.cargoclean.core.model.location.Location;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+import com.github.cargoclean.core.port.ErrorHandlingPresenterOutputPort;
+import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
+import com.github.cargoclean.core.usecase.AbstractUseCaseTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.cargoclean.core.model.MockModels.cargo;
+import static com.github.cargoclean.core.model.MockModels.itinerary;
+import static com.github.cargoclean.core.model.handling.HandlingEventType.LOAD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TrackingUseCaseTest extends AbstractUseCaseTestSupport {
+
+    @Mock
+    private TrackingPresenterOutputPort presenter;
+
+    @Mock
+    private PersistenceGatewayOutputPort gatewayOps;
+
+    @Captor
+    private ArgumentCaptor<Set<UnLocode>> unLocodesCaptor;
+
+    private TrackingUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        commonSetUp();
+        useCase = new TrackingUseCase(presenter, securityOps, gatewayOps, txOps);
+
+        lenient().when(gatewayOps.locationsByUnLocodes(anySet())).thenAnswer(invocation -> {
+            Set<UnLocode> unLocodes = invocation.getArgument(0);
+            return MockModels.allLocations().values().stream()
+                    .filter(location -> unLocodes.contains(location.getUnlocode()))
+                    .collect(Collectors.toMap(Location::getUnlocode, Function.identity()));
+        });
+    }
+
+    @Override
+    protected ErrorHandlingPresenterOutputPort getPresenter() {
+        return presenter;
+    }
+
+    @Test
+    void should_load_only_locations_referenced_by_cargo_and_its_history() {
+        HandlingHistory handlingHistory = HandlingHistory.builder()
+                .handlingEvents(List.of(HandlingEvent.builder()
+                        .type(LOAD)
+                        .eventId(EventId.of(1L))
+                        .location(UnLocode.of("USDAL"))
+                        .cargoId(TrackingId.of("8E062F47"))
+                        .registrationTime(UtcDateTime.of("05-07-2022"))
+                        .completionTime(UtcDateTime.of("05-07-2022"))
+                        .voyageNumber(VoyageNumber.of("0100S"))
+                        .build()))
+                .build();
+        Cargo cargo = cargo("8E062F47").assignItinerary(itinerary(1, 2))
+                .updateDeliveryProgress(handlingHistory);
+        when(gatewayOps.obtainCargoByTrackingId(TrackingId.of("8E062F47"))).thenReturn(cargo);
+        when(gatewayOps.handlingHistory(TrackingId.of("8E062F47"))).thenReturn(handlingHistory);
+
+        useCase.trackCargo("8E062F47");
+
+        verify(gatewayOps).locationsByUnLocodes(unLocodesCaptor.capture());
+        assertThat(unLocodesCaptor.getValue())
+                .containsExactlyInAnyOrder(UnLocode.of("USDAL"), UnLocode.of("AUMEL"), UnLocode.of("JNTKO"));
+        verify(gatewayOps, never()).allLocations();
+        verify(presenter).presentCargoTrackingInformation(eq(cargo), eq(handlingHistory), any(Map.class));
+        noErrorsWerePresented();
+    }
+
+    @Test
+    void should_load_locations_of_route_specification_for_cargo_not_routed() {
+        when(gatewayOps.obtainCargoByTrackingId(TrackingId.of("695CF30D"))).thenReturn(cargo("695CF30D"));
+        when(gatewayOps.handlingHistory(TrackingId.of("695CF30D"))).thenReturn(HandlingHistory.EMPTY_HISTORY);
+
+        useCase.trackCargo("695CF30D");
+
+        verify(gatewayOps).locationsByUnLocodes(unLocodesCaptor.capture());
+        assertThat(unLocodesCaptor.getValue())
+                .containsExactlyInAnyOrder(UnLocode.of("FIHEL"), UnLocode.of("NLRTM"));
+        noErrorsWerePresented();
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.cargoclean.core.usecase.welcome;
+
+import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
+import com.github.cargoclean.core.model.cargo.RoutingStatus;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.port.ErrorHandlingPresenterOutputPort;
+import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
+import com.github.cargoclean.core.usecase.AbstractUseCaseTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WelcomeUseCaseTest extends AbstractUseCaseTestSupport {
+
+    @Mock
+    private WelcomePresenterOutputPort presenter;
+
+    @Mock
+    private PersistenceGatewayOutputPort gatewayOps;
+
+    @Captor
+    private ArgumentCaptor<CargoInfoCriteria> criteriaCaptor;
+
+    private WelcomeUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        commonSetUp();
+        useCase = new WelcomeUseCase(presenter, securityOps, gatewayOps, txOps);
+    }
+
+    @Override
+    protected ErrorHandlingPresenterOutputPort getPresenter() {
+        return presenter;
+    }
+
+    @Test
+    void should_present_first_page_of_cargoes_without_filters() {
+        CargoInfoPage page = new CargoInfoPage(List.of(new CargoInfo("695CF30D", "Helsinki", "Rotterdam", true)),
+                TrackingId.of("695CF30D"));
+        when(gatewayOps.cargoInfoPage(any(CargoInfoCriteria.class))).thenReturn(page);
+
+        useCase.welcome(null, "", " ");
+
+        verify(gatewayOps).cargoInfoPage(criteriaCaptor.capture());
+        assertThat(criteriaCaptor.getValue()).isEqualTo(CargoInfoCriteria.builder().build());
+        verify(presenter).presentHomePage(any(), eq(criteriaCaptor.getValue()), eq(page));
+        noErrorsWerePresented();
+    }
+
+    @Test
+    void should_present_next_page_of_filtered_cargoes() {
+        when(gatewayOps.cargoInfoPage(any(CargoInfoCriteria.class)))
+                .thenReturn(new CargoInfoPage(List.of(), null));
+
+        useCase.welcome("695CF30D", "ROUTED", "NLRTM");
+
+        verify(gatewayOps).cargoInfoPage(criteriaCaptor.capture());
+        assertThat(criteriaCaptor.getValue())
+                .extracting(CargoInfoCriteria::getAfter, CargoInfoCriteria::getRoutingStatus,
+                        CargoInfoCriteria::getDestination, CargoInfoCriteria::getPageSize)
+                .containsExactly(TrackingId.of("695CF30D"), RoutingStatus.ROUTED, UnLocode.of("NLRTM"),
+                        CargoInfoCriteria.DEFAULT_PAGE_SIZE);
+        noErrorsWerePresented();
+    }
+
+    @Test
+    void should_present_error_for_invalid_filter() {
+        useCase.welcome(null, "LOST", null);
+
+        verify(gatewayOps, never()).cargoInfoPage(any());
+        verify(presenter).presentError(any(IllegalArgumentException.class));
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.cargoclean.infrastructure.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheUtilsTest {
+
+    private static final List<String> KEYS = List.of("AUMEL", "USNYC", "JNTKO", "CNSHA");
+
+    @Test
+    void should_load_missing_keys_in_bulk_on_calling_thread_with_loading_cache() {
+        List<Object> loadedKeys = new CopyOnWriteArrayList<>();
+        List<Thread> loaderThreads = new CopyOnWriteArrayList<>();
+        Cache cache = new CaffeineCache("locationCache", Caffeine.newBuilder()
+                .build(loader(loadedKeys, loaderThreads)));
+        cache.put("AUMEL", "Melbourne");
+
+        Map<Object, Object> values = CacheUtils.getAll(cache, KEYS, keys -> {
+            throw new AssertionError("Loader of the cache should be used");
+        });
+
+        assertThat(values).containsOnlyKeys(KEYS.toArray())
+                .containsEntry("AUMEL", "Melbourne")
+                .containsEntry("USNYC", "location USNYC");
+        assertThat(loadedKeys).containsExactlyInAnyOrder("USNYC", "JNTKO", "CNSHA");
+        // loaded within the transaction (and with the connection) of the caller
+        assertThat(loaderThreads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void should_load_missing_key_once_for_concurrent_requests_with_loading_cache() throws Exception {
+        List<Object> loadedKeys = new CopyOnWriteArrayList<>();
+        Cache cache = new CaffeineCache("locationCache", Caffeine.newBuilder()
+                .build(loader(loadedKeys, new CopyOnWriteArrayList<>())));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return cache.get("USNYC").get();
+                    }))
+                    .toList();
+            start.countDown();
+
+            for (Future<Object> result : results) {
+                assertThat(result.get()).isEqualTo("location USNYC");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loadedKeys).containsExactly("USNYC");
+    }
+
+    private static CacheLoader<Object, Object> loader(List<Object> loadedKeys, List<Thread> loaderThreads) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) throws Exception {
+                return loadAll(List.of(key)).get(key);
+            }
+
+            @Override
+            public Map<Object, Object> loadAll(Iterable<?> keys) throws Exception {
+                loaderThreads.add(Thread.currentThread());
+                Thread.sleep(100L);
+                Map<Object, Object> values = new HashMap<>();
+                keys.forEach(key -> {
+                    loadedKeys.add(key);
+                    values.put(key, "location " + key);
+                });
+                return values;
+            }
+        };
+    }
+
+    @Test
+    void should_load_only_missing_keys_in_bulk_with_simple_cache() {
+        Cache cache = new ConcurrentMapCache("locationCache");
+        cache.put("AUMEL", "Melbourne");
+
+        List<Object> loadedKeys = new CopyOnWriteArrayList<>();
+        Map<Object, Object> values = CacheUtils.getAll(cache, KEYS, keys -> {
+            loadedKeys.addAll(keys);
+            Map<Object, Object> loaded = new HashMap<>();
+            keys.stream().filter(key -> !key.equals("CNSHA")).forEach(key -> loaded.put(key, "location " + key));
+            return loaded;
+        });
+
+        assertThat(loadedKeys).containsExactlyInAnyOrder("USNYC", "JNTKO", "CNSHA");
+        assertThat(values).containsOnlyKeys("AUMEL", "USNYC", "JNTKO")
+                .containsEntry("AUMEL", "Melbourne");
+        assertThat(cache.get("JNTKO", String.class)).isEqualTo("location JNTKO");
+    }
+}
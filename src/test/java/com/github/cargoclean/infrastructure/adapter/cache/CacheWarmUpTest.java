@@ -0,0 +1,76 @@
+package com.github.cargoclean.infrastructure.adapter.cache;
+
+import com.github.cargoclean.core.model.MockModels;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.Location;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.port.persistence.PersistenceGatewayOutputPort;
+import com.github.cargoclean.infrastructure.adapter.db.handling.RecentlyHandledCargoesQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.location.AllUnlocodesQueryRow;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationCacheLoader;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmUpTest {
+
+    @Mock
+    private LocationCacheLoader locationCacheLoader;
+
+    @Mock
+    private NamedParameterJdbcOperations queryTemplate;
+
+    @Mock
+    private PersistenceGatewayOutputPort gatewayOps;
+
+    @Test
+    void should_preload_all_locations_and_recently_handled_cargoes() throws Exception {
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getLocationCache().setName("locationCache");
+        props.getWarmUp().setParallelism(3);
+        props.getWarmUp().setRecentCargoes(2);
+        CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+        Map<UnLocode, Location> allLocations = MockModels.allLocations().values().stream()
+                .collect(Collectors.toMap(Location::getUnlocode, Function.identity()));
+        doReturn(allLocations.keySet().stream().map(unLocode -> {
+            AllUnlocodesQueryRow row = new AllUnlocodesQueryRow();
+            row.setUnlocode(unLocode.getCode());
+            return row;
+        }).toList()).when(queryTemplate).query(eq(AllUnlocodesQueryRow.SQL), any(RowMapper.class));
+        doReturn(List.of("75FC0BD4", "695CF30D").stream().map(id -> {
+            RecentlyHandledCargoesQueryRow row = new RecentlyHandledCargoesQueryRow();
+            row.setCargoId(id);
+            return row;
+        }).toList()).when(queryTemplate).query(eq(RecentlyHandledCargoesQueryRow.SQL), anyMap(), any(RowMapper.class));
+        doReturn(new HashMap<Object, Object>(allLocations)).when(locationCacheLoader).loadAll(anyIterable());
+
+        new CacheWarmUp(props, cacheManager, locationCacheLoader, queryTemplate, gatewayOps).warmUp();
+
+        allLocations.forEach((unLocode, location) ->
+                assertThat(cacheManager.getCache("locationCache").get(unLocode, Location.class)).isEqualTo(location));
+        verify(gatewayOps).obtainCargoByTrackingId(TrackingId.of("75FC0BD4"));
+        verify(gatewayOps).handlingHistory(TrackingId.of("695CF30D"));
+    }
+}
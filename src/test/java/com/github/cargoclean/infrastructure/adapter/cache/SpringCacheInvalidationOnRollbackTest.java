@@ -0,0 +1,91 @@
+package com.github.cargoclean.infrastructure.adapter.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpringCacheInvalidationOnRollbackTest {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("locationCache", "cargoCache");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SpringCacheInvalidationOnRollback cacheInvalidation =
+            new SpringCacheInvalidationOnRollback(cacheManager, meterRegistry);
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void should_evict_only_entries_touched_in_rolled_back_transaction() {
+        Cache locationCache = cacheManager.getCache("locationCache");
+        Cache cargoCache = cacheManager.getCache("cargoCache");
+        locationCache.put("AUMEL", "Melbourne");
+        locationCache.put("USNYC", "New York");
+        cargoCache.put("75FC0BD4", "cargo");
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            cacheInvalidation.register();
+            cacheInvalidation.touched("locationCache", "USNYC");
+            locationCache.put("USNYC", "New York (not committed)");
+            cacheInvalidation.touched("cargoCache", "75FC0BD4");
+            cacheInvalidation.touched("cargoCache", "75FC0BD4");
+        });
+
+        assertThat(locationCache.get("AUMEL", String.class)).isEqualTo("Melbourne");
+        assertThat(locationCache.get("USNYC")).isNull();
+        assertThat(cargoCache.get("75FC0BD4")).isNull();
+
+        DistributionSummary evictions = meterRegistry.get("cargo.cache.rollback.evictions").summary();
+        assertThat(evictions.count()).isEqualTo(1L);
+        assertThat(evictions.totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void should_keep_entries_touched_in_committed_transaction_and_start_new_change_set() {
+        Cache locationCache = cacheManager.getCache("locationCache");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            cacheInvalidation.touched("locationCache", "USNYC");
+            locationCache.put("USNYC", "New York");
+        });
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK, () -> cacheInvalidation.register());
+
+        assertThat(locationCache.get("USNYC", String.class)).isEqualTo("New York");
+        assertThat(meterRegistry.get("cargo.cache.rollback.evictions").summary().totalAmount()).isZero();
+    }
+
+    @Test
+    void should_ignore_changes_outside_of_transaction() {
+        cacheInvalidation.register();
+        cacheInvalidation.touched("locationCache", "USNYC");
+
+        assertThat(TransactionSynchronizationManager.getResource(cacheInvalidation)).isNull();
+    }
+
+    // simulates a transaction managed by "AbstractPlatformTransactionManager"
+    private static void complete(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        work.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+}
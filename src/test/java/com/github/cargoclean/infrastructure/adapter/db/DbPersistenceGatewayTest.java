@@ -0,0 +1,68 @@
+package com.github.cargoclean.infrastructure.adapter.db;
+
+import com.github.cargoclean.core.model.location.RegionIndex;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationDbEntity;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationDbEntityRepository;
+import com.github.cargoclean.infrastructure.adapter.db.map.DbEntityMapper;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.cargoclean.core.model.MockModels.location;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DbPersistenceGatewayTest {
+
+    @Mock
+    LocationDbEntityRepository locationRepository;
+
+    @Mock
+    DbEntityMapper dbMapper;
+
+    CargoCleanProperties props = new CargoCleanProperties();
+
+    DbPersistenceGateway dbGateway;
+
+    LocationDbEntity dallas = LocationDbEntity.builder().unlocode("USDAL").build();
+    LocationDbEntity rotterdam = LocationDbEntity.builder().unlocode("NLRTM").build();
+
+    @BeforeEach
+    void setUp() {
+        dbGateway = new DbPersistenceGateway(locationRepository, null, null, null, dbMapper,
+                null, props, null, null, null, null);
+        when(dbMapper.convert(dallas)).thenReturn(location("USDAL"));
+    }
+
+    @Test
+    void should_reuse_region_index_until_it_expires() {
+        props.getRegionIndex().setTtl(Duration.ofHours(1));
+        when(locationRepository.findAll()).thenReturn(List.of(dallas));
+
+        RegionIndex regionIndex = dbGateway.regionIndex();
+
+        assertThat(dbGateway.regionIndex()).isSameAs(regionIndex);
+        verify(locationRepository, times(1)).findAll();
+    }
+
+    @Test
+    void should_rebuild_expired_region_index_with_locations_saved_by_other_instances() {
+        props.getRegionIndex().setTtl(Duration.ZERO);
+        when(dbMapper.convert(rotterdam)).thenReturn(location("NLRTM"));
+        when(locationRepository.findAll())
+                .thenReturn(List.of(dallas))
+                .thenReturn(List.of(dallas, rotterdam));
+
+        assertThat(dbGateway.regionIndex().size()).isEqualTo(1);
+        assertThat(dbGateway.regionIndex().size()).isEqualTo(2);
+    }
+}
@@ -2,6 +2,10 @@ package com.github.cargoclean.infrastructure.adapter.db;
 
 import com.github.cargoclean.core.model.UtcDateTime;
 import com.github.cargoclean.core.model.cargo.Cargo;
+import com.github.cargoclean.core.model.cargo.CargoInfo;
+import com.github.cargoclean.core.model.cargo.CargoInfoCriteria;
+import com.github.cargoclean.core.model.cargo.CargoInfoPage;
+import com.github.cargoclean.core.model.cargo.RoutingStatus;
 import com.github.cargoclean.core.model.cargo.TrackingId;
 import com.github.cargoclean.core.model.cargo.TransportStatus;
 import com.github.cargoclean.core.model.handling.EventId;
@@ -13,9 +17,13 @@ import com.github.cargoclean.core.model.location.Region;
 import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.core.model.report.ExpectedArrivals;
 import com.github.cargoclean.core.model.voyage.VoyageNumber;
+import com.github.cargoclean.core.port.persistence.PersistenceOperationError;
+import com.github.cargoclean.infrastructure.adapter.cache.SpringCacheInvalidationOnRollback;
+import com.github.cargoclean.infrastructure.adapter.db.location.LocationCacheLoader;
 import com.github.cargoclean.infrastructure.adapter.db.map.DefaultDbEntityMapper;
 import com.github.cargoclean.infrastructure.adapter.map.CommonMapStructConverters;
 import com.github.cargoclean.infrastructure.config.TestCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.junit.jupiter.api.Test;
@@ -31,6 +39,7 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -56,13 +65,14 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
     the tests. To keep the changes, we can use "@Rollback(value=false)".
  */
 @DataJdbcTest(includeFilters = @ComponentScan.Filter(classes = {DefaultDbEntityMapper.class,
-        CommonMapStructConverters.class, DbPersistenceGateway.class},
+        CommonMapStructConverters.class, DbPersistenceGateway.class, SpringCacheInvalidationOnRollback.class,
+        LocationCacheLoader.class, StreamingQueries.class},
         type = FilterType.ASSIGNABLE_TYPE))
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Rollback
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @TestPropertySource(properties = {"cargo.slow-load.enabled=true"})
-@Import(TestCacheConfig.class)
+@Import({TestCacheConfig.class, SimpleMeterRegistry.class})
 public class DbPersistenceGatewayTestIT {
 
 //    @TestConfiguration
@@ -128,6 +138,113 @@ public class DbPersistenceGatewayTestIT {
                 .containsExactly(cargoToSave.getTrackingId(), cargoToSave.getOrigin());
     }
 
+    @Test
+    void should_serve_cached_cargo_only_if_its_version_is_current() {
+        final TrackingId trackingId = TrackingId.of("695CF30D");
+        dbGateway.deleteCargo(trackingId);
+        dbGateway.saveCargo(cargo(trackingId.getId()));
+
+        final Cargo cachedCargo = dbGateway.obtainCargoByTrackingId(trackingId);
+        assertThat(dbGateway.obtainCargoByTrackingId(trackingId)).isSameAs(cachedCargo);
+
+        // cargo modified behind the back of the gateway
+        jdbcTemplate.update("update cargo set version = version + 1 where tracking_id = :trackingId",
+                Map.of("trackingId", trackingId.getId()));
+
+        final Cargo reloadedCargo = dbGateway.obtainCargoByTrackingId(trackingId);
+        assertThat(reloadedCargo).isNotSameAs(cachedCargo);
+        assertThat(reloadedCargo.getVersion()).isEqualTo(cachedCargo.getVersion() + 1);
+    }
+
+    @Test
+    void should_serve_cached_handling_history_only_if_events_of_cargo_did_not_change() {
+        final TrackingId trackingId = TrackingId.of("695CF30D");
+        dbGateway.deleteCargo(trackingId);
+        dbGateway.saveCargo(cargo(trackingId.getId()));
+        dbGateway.recordHandlingEvent(HandlingEvent.builder()
+                .type(HandlingEventType.RECEIVE)
+                .cargoId(trackingId)
+                .location(UnLocode.of("JNTKO"))
+                .eventId(dbGateway.nextEventId())
+                .completionTime(UtcDateTime.of("05-08-2022"))
+                .registrationTime(UtcDateTime.of("05-08-2022"))
+                .build());
+
+        final HandlingHistory cachedHistory = dbGateway.handlingHistory(trackingId);
+        assertThat(dbGateway.handlingHistory(trackingId)).isSameAs(cachedHistory);
+
+        // event recorded by another instance of the application
+        jdbcTemplate.update("""
+                        insert into handling_event (event_id, voyage_number, location, cargo_id, completion_time,
+                        registration_time, "type", "version")
+                        values (:eventId, '0200S', 'JNTKO', :trackingId, now(), now(), 'LOAD', 0)
+                        """,
+                Map.of("eventId", dbGateway.nextEventId().getId(), "trackingId", trackingId.getId()));
+
+        final HandlingHistory reloadedHistory = dbGateway.handlingHistory(trackingId);
+        assertThat(reloadedHistory).isNotSameAs(cachedHistory);
+        assertThat(reloadedHistory.historyOfEvents())
+                .extracting(HandlingEvent::getType)
+                .containsExactly(HandlingEventType.RECEIVE, HandlingEventType.LOAD);
+    }
+
+    @Test
+    void should_list_cargoes_page_by_page() {
+        List.of("75FC0BD4", "695CF30D", "8E062F47").forEach(id -> {
+            dbGateway.deleteCargo(TrackingId.of(id));
+            dbGateway.saveCargo(cargo(id));
+        });
+
+        final List<String> trackingIds = new ArrayList<>();
+        CargoInfoPage page = dbGateway.cargoInfoPage(CargoInfoCriteria.builder().pageSize(1).build());
+        trackingIds.addAll(page.getCargoes().stream().map(CargoInfo::getTrackingId).toList());
+        while (page.nextPage().isPresent()) {
+            assertThat(page.getCargoes()).hasSize(1);
+            page = dbGateway.cargoInfoPage(CargoInfoCriteria.builder()
+                    .after(page.getNext())
+                    .pageSize(1)
+                    .build());
+            trackingIds.addAll(page.getCargoes().stream().map(CargoInfo::getTrackingId).toList());
+        }
+
+        assertThat(trackingIds).isSorted()
+                .doesNotHaveDuplicates()
+                .contains("75FC0BD4", "695CF30D", "8E062F47");
+
+        final CargoInfoPage toRotterdam = dbGateway.cargoInfoPage(CargoInfoCriteria.builder()
+                .destination(UnLocode.of("NLRTM"))
+                .routingStatus(RoutingStatus.ROUTED)
+                .build());
+        assertThat(toRotterdam.getCargoes()).extracting(CargoInfo::getTrackingId).contains("695CF30D")
+                .doesNotContain("8E062F47");
+    }
+
+    @Test
+    void should_maintain_expected_arrivals_when_cargo_is_saved_or_deleted() {
+        dbGateway.deleteCargo(TrackingId.of("695CF30D"));
+        final int before = arrivalsTo("Rotterdam");
+
+        dbGateway.saveCargo(cargo("695CF30D"));
+        assertThat(arrivalsTo("Rotterdam")).isEqualTo(before + 1);
+
+        // saving the same cargo again does not change the number of arrivals
+        dbGateway.saveCargo(dbGateway.obtainCargoByTrackingId(TrackingId.of("695CF30D")));
+        assertThat(arrivalsTo("Rotterdam")).isEqualTo(before + 1);
+
+        final List<ExpectedArrivals> maintained = dbGateway.queryForExpectedArrivals();
+        assertThat(dbGateway.rebuildExpectedArrivals()).containsExactlyInAnyOrderElementsOf(maintained);
+
+        dbGateway.deleteCargo(TrackingId.of("695CF30D"));
+        assertThat(arrivalsTo("Rotterdam")).isEqualTo(before);
+    }
+
+    private int arrivalsTo(String city) {
+        return dbGateway.queryForExpectedArrivals().stream()
+                .filter(arrivals -> arrivals.getCity().equals(city))
+                .mapToInt(ExpectedArrivals::getNumberOfArrivals)
+                .sum();
+    }
+
     @Test
     void should_query_for_number_of_arrivals_by_destination_city() {
         dbGateway.saveCargo(cargo("8E062F47"));
@@ -175,6 +292,46 @@ public class DbPersistenceGatewayTestIT {
                 .isEqualTo(UnLocode.of("JNTKO"));
     }
 
+    @Test
+    void should_not_rewrite_legs_when_only_delivery_of_cargo_changes() {
+        TrackingId trackingId = TrackingId.of("8E062F47");
+        dbGateway.deleteCargo(trackingId);
+        dbGateway.saveCargo(cargo(trackingId.getId()));
+
+        // legs are inserted for the new itinerary
+        dbGateway.saveCargo(dbGateway.obtainCargoByTrackingId(trackingId).assignItinerary(itinerary(1, 2)));
+        final List<String> legRows = legRows(trackingId);
+        assertThat(legRows).hasSize(2);
+
+        // physical locations of leg rows do not change when only delivery is updated
+        final Cargo routedCargo = dbGateway.obtainCargoByTrackingId(trackingId);
+        dbGateway.saveCargo(routedCargo.updateDeliveryProgress(HandlingHistory.builder()
+                .handlingEvents(List.of(HandlingEvent.builder()
+                        .type(HandlingEventType.LOAD)
+                        .cargoId(trackingId)
+                        .voyageNumber(VoyageNumber.of("0100S"))
+                        .location(UnLocode.of("USDAL"))
+                        .eventId(EventId.of(1L))
+                        .completionTime(UtcDateTime.of("05-07-2022"))
+                        .registrationTime(UtcDateTime.of("05-07-2022"))
+                        .build()))
+                .build()));
+        assertThat(legRows(trackingId)).isEqualTo(legRows);
+
+        final Cargo savedCargo = dbGateway.obtainCargoByTrackingId(trackingId);
+        assertThat(savedCargo.getVersion()).isEqualTo(routedCargo.getVersion() + 1);
+        assertThat(savedCargo.getDelivery().getTransportStatus()).isEqualTo(TransportStatus.ONBOARD_CARRIER);
+        assertThat(savedCargo.getItinerary().getLegs()).hasSize(2);
+
+        // stale cargo is not saved
+        assertThrows(PersistenceOperationError.class, () -> dbGateway.saveCargo(routedCargo));
+    }
+
+    private List<String> legRows(TrackingId trackingId) {
+        return jdbcTemplate.queryForList("select ctid::text from leg where cargo_tracking_id = :trackingId order by leg_index",
+                Map.of("trackingId", trackingId.getId()), String.class);
+    }
+
     @Test
     void should_save_cargo_with_consignments() {
         TrackingId trackingId = TrackingId.of("115A00BB");
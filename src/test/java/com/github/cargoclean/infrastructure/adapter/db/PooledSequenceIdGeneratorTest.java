@@ -0,0 +1,86 @@
+package com.github.cargoclean.infrastructure.adapter.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledSequenceIdGeneratorTest {
+
+    private static final int BLOCK_SIZE = 100;
+
+    @Test
+    void should_issue_consecutive_ids_from_block_and_fetch_next_block_when_exhausted() {
+        AtomicInteger fetches = new AtomicInteger();
+        AtomicLong sequence = new AtomicLong(1L - BLOCK_SIZE);
+        PooledSequenceIdGenerator generator = new PooledSequenceIdGenerator(BLOCK_SIZE, () -> {
+            fetches.incrementAndGet();
+            return sequence.addAndGet(BLOCK_SIZE);
+        });
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).startsWith(1L, 2L, 3L).endsWith(250L).doesNotHaveDuplicates();
+        assertThat(fetches).hasValue(3);
+    }
+
+    /*
+        Several "instances of the application" (generators) sharing the same
+        sequence, each used by several threads at the same time.
+     */
+    @Test
+    void should_never_issue_same_id_twice_when_used_concurrently_by_several_instances() throws Exception {
+        int instances = 3;
+        int threadsPerInstance = 8;
+        int idsPerThread = 20_000;
+
+        // simulates "nextval" of a sequence with the increment equal to the size of a block
+        AtomicLong sequence = new AtomicLong(1L - BLOCK_SIZE);
+        LongSupplier nextval = () -> sequence.addAndGet(BLOCK_SIZE);
+
+        Set<Long> issuedIds = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(instances * threadsPerInstance);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> duplicates = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances; i++) {
+                PooledSequenceIdGenerator generator = new PooledSequenceIdGenerator(BLOCK_SIZE, nextval);
+                for (int j = 0; j < threadsPerInstance; j++) {
+                    duplicates.add(executor.submit(() -> {
+                        start.await();
+                        int duplicatesSeen = 0;
+                        for (int k = 0; k < idsPerThread; k++) {
+                            if (!issuedIds.add(generator.nextId())) {
+                                duplicatesSeen++;
+                            }
+                        }
+                        return duplicatesSeen;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Integer> future : duplicates) {
+                assertThat(future.get(1, TimeUnit.MINUTES)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(issuedIds).hasSize(instances * threadsPerInstance * idsPerThread);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.cargoclean.infrastructure.adapter.db;
+
+import com.github.cargoclean.infrastructure.adapter.db.cargo.CargoInfoRow;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamingQueriesTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    void should_not_stream_rows_outside_of_transaction() {
+        StreamingQueries streamingQueries = new StreamingQueries(dataSource, new CargoCleanProperties());
+
+        assertThrows(IllegalStateException.class,
+                () -> streamingQueries.stream(CargoInfoRow.SQL, Map.of(), CargoInfoRow.ROW_MAPPER));
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void should_map_row_by_column_names() throws Exception {
+        when(resultSet.getString("tracking_id")).thenReturn("695CF30D");
+        when(resultSet.getString("origin")).thenReturn("Helsinki");
+        when(resultSet.getString("destination")).thenReturn("Rotterdam");
+        when(resultSet.getString("routing_status")).thenReturn("ROUTED");
+
+        CargoInfoRow row = CargoInfoRow.ROW_MAPPER.mapRow(resultSet, 1);
+
+        assertThat(row).extracting(CargoInfoRow::getTrackingId, CargoInfoRow::getOrigin,
+                        CargoInfoRow::getDestination, CargoInfoRow::getRoutingStatus)
+                .containsExactly("695CF30D", "Helsinki", "Rotterdam", "ROUTED");
+    }
+}
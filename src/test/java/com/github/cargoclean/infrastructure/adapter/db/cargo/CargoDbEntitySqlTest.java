@@ -0,0 +1,74 @@
+package com.github.cargoclean.infrastructure.adapter.db.cargo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jdbc.core.mapping.JdbcMappingContext;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    Point of interest:
+    -----------------
+    Hand-written statements used to save cargoes (bypassing Spring Data JDBC)
+    must write all the columns mapped by the DB entities: a new property added
+    to an entity, but not to the statements, would otherwise be silently lost
+    each time a known cargo is saved.
+ */
+public class CargoDbEntitySqlTest {
+
+    private static final Pattern COLUMN = Pattern.compile("\"?(\\w+)\"?\\s*(?:=|>=)\\s*:");
+
+    private static final Pattern INSERT_COLUMNS = Pattern.compile("\\((.*?)\\)\\s*values", Pattern.DOTALL);
+
+    private final JdbcMappingContext mappingContext = new JdbcMappingContext();
+
+    @Test
+    void update_of_cargo_should_write_all_mapped_columns() {
+        assertThat(columnsOf(CargoDbEntity.UPDATE_SQL))
+                .containsExactlyInAnyOrderElementsOf(mappedColumns(CargoDbEntity.class, ""));
+    }
+
+    @Test
+    void update_and_insert_of_leg_should_write_all_mapped_columns() {
+        Set<String> legColumns = mappedColumns(LegDbEntity.class, "");
+        // key column of the collection of legs of a cargo, see "CargoDbEntity#legs"
+        legColumns.add("leg_index");
+
+        assertThat(columnsOf(LegDbEntity.UPDATE_SQL)).containsExactlyInAnyOrderElementsOf(legColumns);
+
+        Matcher insertColumns = INSERT_COLUMNS.matcher(LegDbEntity.INSERT_SQL);
+        assertThat(insertColumns.find()).isTrue();
+        assertThat(Set.of(insertColumns.group(1).replace(" ", "").split(",")))
+                .containsExactlyInAnyOrderElementsOf(legColumns);
+    }
+
+    private static Set<String> columnsOf(String sql) {
+        Set<String> columns = new HashSet<>();
+        Matcher matcher = COLUMN.matcher(sql);
+        while (matcher.find()) {
+            columns.add(matcher.group(1));
+        }
+        return columns;
+    }
+
+    // columns of all simple and embedded properties, collections are mapped to their own tables
+    private Set<String> mappedColumns(Class<?> entityType, String prefix) {
+        Set<String> columns = new HashSet<>();
+        RelationalPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityType);
+        entity.doWithProperties((PropertyHandler<RelationalPersistentProperty>) property -> {
+            if (property.isEmbedded()) {
+                columns.addAll(mappedColumns(property.getActualType(), prefix + property.getEmbeddedPrefix()));
+            } else if (!property.isCollectionLike()) {
+                columns.add(prefix + property.getColumnName().getReference());
+            }
+        });
+        return columns;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.handling.HandlingHistory;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedHandlingHistoryTest {
+
+    @Test
+    void should_be_current_only_while_events_of_cargo_are_same_as_when_cached() {
+        CachedHandlingHistory cachedHistory = CachedHandlingHistory.of(HandlingHistory.EMPTY_HISTORY, stamp(2, 200));
+
+        assertThat(cachedHistory.isCurrent(stamp(2, 200))).isTrue();
+        // event recorded by another instance
+        assertThat(cachedHistory.isCurrent(stamp(3, 300))).isFalse();
+        // events removed by the retention, another event recorded
+        assertThat(cachedHistory.isCurrent(stamp(2, 300))).isFalse();
+    }
+
+    @Test
+    void should_account_for_recorded_events_in_stamp() {
+        UtcDateTime time = UtcDateTime.now();
+        HandlingEvent receive = event(101L, null, HandlingEventType.RECEIVE, time);
+        HandlingEvent load = event(305L, "0100S", HandlingEventType.LOAD, time.plusSeconds(10L));
+        HandlingEvent unload = event(302L, "0100S", HandlingEventType.UNLOAD, time.plusSeconds(20L));
+
+        CachedHandlingHistory cachedHistory = CachedHandlingHistory.of(HandlingHistory.builder()
+                .handlingEvents(List.of(receive))
+                .build(), stamp(1, 101));
+
+        CachedHandlingHistory updatedHistory = cachedHistory.withEvents(List.of(load, unload));
+
+        assertThat(updatedHistory.isCurrent(stamp(3, 305))).isTrue();
+        assertThat(updatedHistory.getHistory().historyOfEvents()).containsExactly(receive, load, unload);
+    }
+
+    private static HandlingHistoryStampQueryRow stamp(long eventCount, long maxEventId) {
+        HandlingHistoryStampQueryRow stamp = new HandlingHistoryStampQueryRow();
+        stamp.setEventCount(eventCount);
+        stamp.setMaxEventId(maxEventId);
+        return stamp;
+    }
+
+    private static HandlingEvent event(long id, String voyageNumber, HandlingEventType type, UtcDateTime time) {
+        return HandlingEvent.builder()
+                .eventId(EventId.of(id))
+                .voyageNumber(voyageNumber == null ? null : VoyageNumber.of(voyageNumber))
+                .cargoId(TrackingId.of("695CF30D"))
+                .location(UnLocode.of("AUMEL"))
+                .type(type)
+                .completionTime(time)
+                .registrationTime(time)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.cargoclean.infrastructure.adapter.db.handling;
+
+import com.github.cargoclean.core.port.transaction.TransactionOperationsOutputPort;
+import com.github.cargoclean.core.port.transaction.TransactionRunnableWithResult;
+import com.github.cargoclean.core.port.transaction.TransactionRunnableWithoutResult;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HandlingEventRetentionTest {
+
+    @Mock
+    NamedParameterJdbcOperations queryTemplate;
+
+    @Mock
+    JdbcOperations jdbcOperations;
+
+    @Mock
+    TransactionOperationsOutputPort txOps;
+
+    @Test
+    void should_create_next_partitions_and_detach_expired_partitions_of_claimed_cargoes() {
+        doAnswer(invocation -> {
+            ((TransactionRunnableWithoutResult) invocation.getArgument(0)).run();
+            return null;
+        }).when(txOps).doInTransaction(any(TransactionRunnableWithoutResult.class));
+        when(txOps.doInTransactionWithResult(any(TransactionRunnableWithResult.class)))
+                .thenAnswer(invocation -> ((TransactionRunnableWithResult<?>) invocation.getArgument(0)).run());
+        when(queryTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+
+        when(queryTemplate.query(eq(HandlingEventPartitionRow.SQL), anyMap(), any(RowMapper.class)))
+                .thenReturn(Stream.of("handling_event_default", "handling_event_y2025m08", "handling_event_y2025m09",
+                                "handling_event_y2025m10")
+                        .map(name -> {
+                            HandlingEventPartitionRow row = new HandlingEventPartitionRow();
+                            row.setPartitionName(name);
+                            return row;
+                        }).toList());
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.DEFAULT_HAS_EVENTS_SQL
+                .formatted("2026-10", "2026-11"), Boolean.class)).thenReturn(false);
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.DEFAULT_HAS_EVENTS_SQL
+                .formatted("2026-11", "2026-12"), Boolean.class)).thenReturn(false);
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.HAS_UNCLAIMED_CARGOES_SQL
+                .formatted("handling_event_y2025m08"), Boolean.class)).thenReturn(false);
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.HAS_UNCLAIMED_CARGOES_SQL
+                .formatted("handling_event_y2025m09"), Boolean.class)).thenReturn(true);
+
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getHandlingHistoryCache().setName("handlingHistoryCache");
+        props.getHandlingEventRetention().setPartitionsAhead(1);
+        props.getHandlingEventRetention().setRetentionMonths(12);
+        CacheManager cacheManager = new ConcurrentMapCacheManager();
+        cacheManager.getCache("handlingHistoryCache").put("695CF30D", List.of());
+
+        new HandlingEventRetention(queryTemplate, txOps, cacheManager, props).maintain(YearMonth.of(2026, 10));
+
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.CREATE_SQL
+                .formatted("handling_event_y2026m10", "2026-10", "2026-11"));
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.CREATE_SQL
+                .formatted("handling_event_y2026m11", "2026-11", "2026-12"));
+
+        // only the partition with events of claimed cargoes is detached, partitions in retention period are kept
+        verify(jdbcOperations, times(2)).execute(HandlingEventPartitionRow.LOCK_TIMEOUT_SQL.formatted(5000L));
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.DETACH_SQL.formatted("handling_event_y2025m08"));
+        verify(jdbcOperations, never()).execute(HandlingEventPartitionRow.DETACH_SQL.formatted("handling_event_y2025m09"));
+        verify(jdbcOperations, never()).queryForObject(HandlingEventPartitionRow.HAS_UNCLAIMED_CARGOES_SQL
+                .formatted("handling_event_y2025m10"), Boolean.class);
+        assertThat(cacheManager.getCache("handlingHistoryCache").get("695CF30D")).isNull();
+    }
+
+    @Test
+    void should_move_events_out_of_default_partition_and_keep_maintaining_if_partition_cannot_be_created() {
+        doAnswer(invocation -> {
+            ((TransactionRunnableWithoutResult) invocation.getArgument(0)).run();
+            return null;
+        }).when(txOps).doInTransaction(any(TransactionRunnableWithoutResult.class));
+        when(txOps.doInTransactionWithResult(any(TransactionRunnableWithResult.class)))
+                .thenAnswer(invocation -> ((TransactionRunnableWithResult<?>) invocation.getArgument(0)).run());
+        when(queryTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+
+        when(queryTemplate.query(eq(HandlingEventPartitionRow.SQL), anyMap(), any(RowMapper.class)))
+                .thenReturn(Stream.of("handling_event_default", "handling_event_y2025m08", "handling_event_y2026m10")
+                        .map(name -> {
+                            HandlingEventPartitionRow row = new HandlingEventPartitionRow();
+                            row.setPartitionName(name);
+                            return row;
+                        }).toList());
+        // events of November are in the default partition already
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.DEFAULT_HAS_EVENTS_SQL
+                .formatted("2026-11", "2026-12"), Boolean.class)).thenReturn(true);
+        // partition for December cannot be created
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.DEFAULT_HAS_EVENTS_SQL
+                .formatted("2026-12", "2027-01"), Boolean.class)).thenReturn(false);
+        lenient().doThrow(new IllegalStateException("Cannot create partition")).when(jdbcOperations)
+                .execute(HandlingEventPartitionRow.CREATE_SQL.formatted("handling_event_y2026m12", "2026-12", "2027-01"));
+        when(jdbcOperations.queryForObject(HandlingEventPartitionRow.HAS_UNCLAIMED_CARGOES_SQL
+                .formatted("handling_event_y2025m08"), Boolean.class)).thenReturn(false);
+
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getHandlingHistoryCache().setName("handlingHistoryCache");
+        props.getHandlingEventRetention().setPartitionsAhead(2);
+        props.getHandlingEventRetention().setRetentionMonths(12);
+
+        new HandlingEventRetention(queryTemplate, txOps, new ConcurrentMapCacheManager(), props)
+                .maintain(YearMonth.of(2026, 10));
+
+        // existing partition is not created again
+        verify(jdbcOperations, never()).execute(HandlingEventPartitionRow.CREATE_SQL
+                .formatted("handling_event_y2026m10", "2026-10", "2026-11"));
+
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.CREATE_DETACHED_SQL.formatted("handling_event_y2026m11"));
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.MOVE_FROM_DEFAULT_SQL
+                .formatted("handling_event_y2026m11", "2026-11", "2026-12"));
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.ATTACH_SQL
+                .formatted("handling_event_y2026m11", "2026-11", "2026-12"));
+
+        // expired partitions are still detached
+        verify(jdbcOperations).execute(HandlingEventPartitionRow.DETACH_SQL.formatted("handling_event_y2025m08"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeliveryUpdateCoalescerTest {
+
+    @Test
+    void should_submit_single_update_with_all_events_of_cargo_received_during_window() {
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getDeliveryUpdates().setCoalescingWindow(Duration.ofSeconds(10));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        DeliveryUpdateExecutor executor = new DeliveryUpdateExecutor(props, meterRegistry);
+        DeliveryUpdateCoalescer coalescer = new DeliveryUpdateCoalescer(props, executor, meterRegistry);
+        executor.start();
+        coalescer.start();
+
+        Map<TrackingId, List<List<HandlingEvent>>> executedUpdates = new ConcurrentHashMap<>();
+        List<HandlingEvent> events = LongStream.rangeClosed(1, 7)
+                .mapToObj(eventId -> event(eventId, eventId <= 5 ? "75FC0BD4" : "695CF30D"))
+                .toList();
+        events.forEach(event -> coalescer.submit(event, handlingEvents -> executedUpdates
+                .computeIfAbsent(event.getCargoId(), id -> new CopyOnWriteArrayList<>())
+                .add(handlingEvents)));
+
+        // windows are still open, nothing is executed yet
+        assertThat(executedUpdates).isEmpty();
+
+        // stopping in the order of lifecycle phases closes all windows and drains the executor
+        assertThat(coalescer.getPhase()).isGreaterThan(executor.getPhase());
+        coalescer.stop();
+        executor.stop();
+
+        assertThat(executedUpdates.get(TrackingId.of("75FC0BD4")))
+                .containsExactly(events.subList(0, 5));
+        assertThat(executedUpdates.get(TrackingId.of("695CF30D")))
+                .containsExactly(events.subList(5, 7));
+        assertThat(meterRegistry.get("cargo.delivery.updates.coalesced").counter().count()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("cargo.delivery.updates").timer().count()).isEqualTo(2L);
+    }
+
+    private static HandlingEvent event(long eventId, String trackingId) {
+        UtcDateTime completionTime = UtcDateTime.of("05-07-2022").plusSeconds(eventId);
+        return HandlingEvent.builder()
+                .eventId(EventId.of(eventId))
+                .type(HandlingEventType.RECEIVE)
+                .location(UnLocode.of("USDAL"))
+                .cargoId(TrackingId.of(trackingId))
+                .completionTime(completionTime)
+                .registrationTime(completionTime)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeliveryUpdateExecutorTest {
+
+    @Test
+    void should_execute_updates_for_same_cargo_in_order_of_submission_and_drain_on_stop() {
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getDeliveryUpdates().setPartitions(3);
+        props.getDeliveryUpdates().setQueueCapacity(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        DeliveryUpdateExecutor executor = new DeliveryUpdateExecutor(props, meterRegistry);
+        executor.start();
+
+        List<TrackingId> trackingIds = List.of(TrackingId.of("75FC0BD4"), TrackingId.of("695CF30D"),
+                TrackingId.of("8E062F47"), TrackingId.of("CC3A58FB"));
+        Map<TrackingId, List<Integer>> executedUpdates = new ConcurrentHashMap<>();
+
+        // small queues, so some submissions will block
+        IntStream.range(0, 50).forEach(i -> trackingIds.forEach(trackingId ->
+                executor.submit(trackingId, () -> executedUpdates
+                        .computeIfAbsent(trackingId, id -> new CopyOnWriteArrayList<>())
+                        .add(i))));
+
+        executor.stop();
+
+        assertThat(executedUpdates).hasSize(trackingIds.size());
+        executedUpdates.values().forEach(updates -> assertThat(updates)
+                .containsExactlyElementsOf(IntStream.range(0, 50).boxed().toList()));
+        assertThat(meterRegistry.get("cargo.delivery.updates").timer().count()).isEqualTo(200L);
+
+        // no more updates accepted after shutdown
+        assertThrows(RejectedExecutionException.class,
+                () -> executor.submit(trackingIds.get(0), () -> {
+                }));
+    }
+
+    @Test
+    void should_execute_update_in_calling_thread_if_queue_stays_full() throws Exception {
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getDeliveryUpdates().setPartitions(1);
+        props.getDeliveryUpdates().setQueueCapacity(1);
+        props.getDeliveryUpdates().setSubmitTimeout(Duration.ofMillis(10));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        DeliveryUpdateExecutor executor = new DeliveryUpdateExecutor(props, meterRegistry);
+        executor.start();
+
+        TrackingId trackingId = TrackingId.of("75FC0BD4");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<Integer, Thread> executingThreads = new ConcurrentHashMap<>();
+
+        // first update occupies the only thread, second one fills the queue
+        executor.submit(trackingId, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submit(trackingId, () -> executingThreads.put(2, Thread.currentThread()));
+        executor.submit(trackingId, () -> executingThreads.put(3, Thread.currentThread()));
+
+        assertThat(executingThreads).containsOnlyKeys(3).containsValue(Thread.currentThread());
+        assertThat(meterRegistry.get("cargo.delivery.updates.caller.runs").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        executor.stop();
+        assertThat(executingThreads).containsKeys(2, 3);
+        assertThat(executingThreads.get(2)).isNotSameAs(Thread.currentThread());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.cargoclean.infrastructure.adapter.events;
+
+import com.github.cargoclean.core.model.InvalidDomainObjectError;
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.handling.EventId;
+import com.github.cargoclean.core.model.handling.HandlingEvent;
+import com.github.cargoclean.core.model.handling.HandlingEventType;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.port.transaction.TransactionOperationsOutputPort;
+import com.github.cargoclean.core.port.transaction.TransactionRunnableWithResult;
+import com.github.cargoclean.core.port.transaction.TransactionRunnableWithoutResult;
+import com.github.cargoclean.core.usecase.handling.HandlingInputPort;
+import com.github.cargoclean.infrastructure.adapter.db.handling.HandlingEventEntity;
+import com.github.cargoclean.infrastructure.adapter.db.handling.HandlingEventEntityRepository;
+import com.github.cargoclean.infrastructure.adapter.db.map.DbEntityMapper;
+import com.github.cargoclean.infrastructure.adapter.db.outbox.OutboxEntryRow;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import com.github.cargoclean.infrastructure.config.UseCaseConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    ApplicationContext appContext;
+
+    @Mock
+    NamedParameterJdbcOperations queryTemplate;
+
+    @Mock
+    HandlingEventEntityRepository handlingEventRepository;
+
+    @Mock
+    DbEntityMapper dbMapper;
+
+    @Mock
+    TransactionOperationsOutputPort txOps;
+
+    @Mock
+    HandlingInputPort useCase;
+
+    @Test
+    void should_update_delivery_of_each_cargo_and_delete_processed_entries() {
+        setUpTransactionsAndUseCase();
+        when(queryTemplate.queryForList(eq(OutboxEntryRow.SELECT_CARGOES_SQL), anyMap(), eq(String.class)))
+                .thenReturn(List.of("75FC0BD4", "695CF30D"));
+        when(queryTemplate.query(eq(OutboxEntryRow.SELECT_CARGO_ENTRIES_SQL), eq(entriesParams("75FC0BD4")),
+                any(RowMapper.class)))
+                .thenReturn(List.of(entry(10L, 1L, "75FC0BD4", 0), entry(12L, 3L, "75FC0BD4", 0)));
+        when(queryTemplate.query(eq(OutboxEntryRow.SELECT_CARGO_ENTRIES_SQL), eq(entriesParams("695CF30D")),
+                any(RowMapper.class)))
+                .thenReturn(List.of(entry(11L, 2L, "695CF30D", 0)));
+
+        // repository returns events in any order
+        HandlingEvent first = stubEvent(1L, "75FC0BD4");
+        HandlingEvent second = stubEvent(2L, "695CF30D");
+        HandlingEvent third = stubEvent(3L, "75FC0BD4");
+        List<HandlingEventEntity> entities = List.of(entity(3L), entity(1L));
+        when(handlingEventRepository.findAllById(Set.of(1L, 3L))).thenReturn(entities);
+        when(handlingEventRepository.findAllById(Set.of(2L))).thenReturn(List.of(entity(2L)));
+        when(dbMapper.convert(any(HandlingEventEntity.class))).thenAnswer(invocation ->
+                Map.of(1L, first, 2L, second, 3L, third)
+                        .get(((HandlingEventEntity) invocation.getArgument(0)).getEventId()));
+
+        newRelay().poll();
+
+        verify(queryTemplate).queryForList(OutboxEntryRow.LOCK_CARGO_SQL, Map.of("cargoId", "75FC0BD4"), String.class);
+        verify(queryTemplate).queryForList(OutboxEntryRow.LOCK_CARGO_SQL, Map.of("cargoId", "695CF30D"), String.class);
+        verify(useCase).updateDeliveryAfterHandlingActivities(List.of(first, third));
+        verify(useCase).updateDeliveryAfterHandlingActivities(List.of(second));
+        verify(queryTemplate).update(OutboxEntryRow.DELETE_SQL, Map.of("ids", List.of(10L, 12L)));
+        verify(queryTemplate).update(OutboxEntryRow.DELETE_SQL, Map.of("ids", List.of(11L)));
+        verify(queryTemplate, never()).update(eq(OutboxEntryRow.FAIL_SQL), anyMap());
+    }
+
+    @Test
+    void should_keep_entries_of_failed_cargo_for_retry_and_process_other_cargoes() {
+        setUpTransactionsAndUseCase();
+        when(queryTemplate.queryForList(eq(OutboxEntryRow.SELECT_CARGOES_SQL), anyMap(), eq(String.class)))
+                .thenReturn(List.of("75FC0BD4", "695CF30D"));
+        when(queryTemplate.query(eq(OutboxEntryRow.SELECT_CARGO_ENTRIES_SQL), eq(entriesParams("75FC0BD4")),
+                any(RowMapper.class)))
+                .thenReturn(List.of(entry(10L, 1L, "75FC0BD4", 1)));
+        when(queryTemplate.query(eq(OutboxEntryRow.SELECT_CARGO_ENTRIES_SQL), eq(entriesParams("695CF30D")),
+                any(RowMapper.class)))
+                .thenReturn(List.of(entry(11L, 2L, "695CF30D", 0)));
+
+        HandlingEvent poison = stubEvent(1L, "75FC0BD4");
+        HandlingEvent second = stubEvent(2L, "695CF30D");
+        when(handlingEventRepository.findAllById(Set.of(1L))).thenReturn(List.of(entity(1L)));
+        when(handlingEventRepository.findAllById(Set.of(2L))).thenReturn(List.of(entity(2L)));
+        when(dbMapper.convert(any(HandlingEventEntity.class))).thenAnswer(invocation ->
+                Map.of(1L, poison, 2L, second)
+                        .get(((HandlingEventEntity) invocation.getArgument(0)).getEventId()));
+
+        // use case rethrows the error through its presenter
+        doThrow(new InvalidDomainObjectError("Invalid cargo"))
+                .when(useCase).updateDeliveryAfterHandlingActivities(List.of(poison));
+
+        newRelay().poll();
+
+        verify(queryTemplate, never()).update(OutboxEntryRow.DELETE_SQL, Map.of("ids", List.of(10L)));
+        verify(queryTemplate).update(OutboxEntryRow.FAIL_SQL, Map.of("ids", List.of(10L), "retryDelay", 30_000L));
+        verify(useCase).updateDeliveryAfterHandlingActivities(List.of(second));
+        verify(queryTemplate).update(OutboxEntryRow.DELETE_SQL, Map.of("ids", List.of(11L)));
+    }
+
+    @Test
+    void should_rethrow_error_presented_by_use_case() {
+        RethrowingHandlingPresenter presenter = new RethrowingHandlingPresenter();
+        IllegalArgumentException error = new IllegalArgumentException("Unknown cargo");
+
+        assertThatThrownBy(() -> presenter.presentError(error)).isSameAs(error);
+        assertThatThrownBy(() -> presenter.presentError(new Exception("Checked")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Checked");
+    }
+
+    private void setUpTransactionsAndUseCase() {
+        when(txOps.doInTransactionWithResult(anyBoolean(), any(TransactionRunnableWithResult.class)))
+                .thenAnswer(invocation -> ((TransactionRunnableWithResult<?>) invocation.getArgument(1)).run());
+        lenient().doAnswer(invocation -> {
+            ((TransactionRunnableWithoutResult) invocation.getArgument(0)).run();
+            return null;
+        }).when(txOps).doInTransaction(any(TransactionRunnableWithoutResult.class));
+        when(appContext.getBean(UseCaseConfig.OUTBOX_HANDLING_USE_CASE, HandlingInputPort.class)).thenReturn(useCase);
+    }
+
+    private OutboxRelay newRelay() {
+        return new OutboxRelay(appContext, queryTemplate, handlingEventRepository, dbMapper, txOps,
+                new CargoCleanProperties());
+    }
+
+    private static Map<String, Object> entriesParams(String cargoId) {
+        return Map.of("cargoId", cargoId, "maxAttempts", 5);
+    }
+
+    private static OutboxEntryRow entry(long id, long eventId, String cargoId, int attempts) {
+        OutboxEntryRow row = new OutboxEntryRow();
+        row.setAttempts(attempts);
+        row.setId(id);
+        row.setEventId(eventId);
+        row.setCargoId(cargoId);
+        return row;
+    }
+
+    private static HandlingEventEntity entity(long eventId) {
+        return HandlingEventEntity.builder().eventId(eventId).build();
+    }
+
+    private static HandlingEvent stubEvent(long eventId, String trackingId) {
+        return HandlingEvent.builder()
+                .eventId(EventId.of(eventId))
+                .type(HandlingEventType.RECEIVE)
+                .location(UnLocode.of("USDAL"))
+                .cargoId(TrackingId.of(trackingId))
+                .completionTime(UtcDateTime.of("05-07-2022"))
+                .registrationTime(UtcDateTime.of("05-07-2022"))
+                .build();
+    }
+}
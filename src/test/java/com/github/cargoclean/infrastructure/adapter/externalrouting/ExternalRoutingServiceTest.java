@@ -21,13 +21,16 @@ import com.github.cargoclean.core.model.location.UnLocode;
 import com.github.cargoclean.infrastructure.adapter.externalrouting.map.DefaultTransitPathMapperImpl;
 import com.github.cargoclean.infrastructure.adapter.externalrouting.map.TransitPathMapper;
 import com.github.cargoclean.infrastructure.adapter.map.CommonMapStructConverters;
+import com.github.cargoclean.infrastructure.adapter.routing.ItineraryCandidatesCache;
 import com.pathfinder.api.GraphTraversalService;
 import com.pathfinder.internal.GraphDAOStub;
 import com.pathfinder.internal.GraphTraversalServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -59,7 +62,8 @@ public class ExternalRoutingServiceTest {
             }
         });
 
-        ExternalRoutingService externalRoutingService = new ExternalRoutingService(graphTraversalService, pathMapper);
+        ExternalRoutingService externalRoutingService = new ExternalRoutingService(graphTraversalService, pathMapper,
+                new ItineraryCandidatesCache(new ConcurrentMapCache("itineraryCache"), Duration.ofDays(1)));
 
         UtcDateTime arrivalDeadline = UtcDateTime.now().plusDays(90);
         RouteSpecification routeSpecification = RouteSpecification.builder()
@@ -0,0 +1,44 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.port.routing.LegDto;
+import com.github.cargoclean.core.port.routing.RouteDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+
+import static com.github.cargoclean.core.model.MockModels.leg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CandidateRoutesSnapshotsTest {
+
+    @Test
+    void should_resolve_selected_route_against_presented_snapshot_only() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("candidateRoutesCache");
+        CandidateRoutesSnapshots snapshots = new CandidateRoutesSnapshots(cache);
+        TrackingId trackingId = TrackingId.of("8E062F47");
+        RouteDto first = route(1);
+        RouteDto second = route(2);
+
+        String presented = snapshots.saveCandidateRoutes(trackingId, List.of(first, second));
+        // same cargo presented again, i.e. in another tab, with routes in another order
+        String presentedAgain = snapshots.saveCandidateRoutes(trackingId, List.of(second, first));
+
+        assertThat(presentedAgain).isNotEqualTo(presented);
+        assertThat(snapshots.selectedRoute(trackingId, presented, 1)).hasValue(second);
+        assertThat(snapshots.selectedRoute(trackingId, presentedAgain, 1)).hasValue(first);
+        assertThat(snapshots.selectedRoute(trackingId, presented, 2)).isEmpty();
+        assertThat(snapshots.selectedRoute(TrackingId.of("75FC0BD4"), presented, 0)).isEmpty();
+
+        // expired snapshot
+        cache.clear();
+        assertThat(snapshots.selectedRoute(trackingId, presented, 0)).isEmpty();
+    }
+
+    private static RouteDto route(int legId) {
+        return RouteDto.builder()
+                .legs(List.of(LegDto.of(leg(legId))))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.Itinerary;
+import com.github.cargoclean.core.model.cargo.Leg;
+import com.github.cargoclean.core.model.cargo.RouteSpecification;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItineraryCandidatesCacheTest {
+
+    private static final Instant DAY = Instant.parse("2022-09-05T00:00:00Z");
+
+    @Test
+    void should_calculate_itineraries_once_per_deadline_bucket_and_assign_them_to_each_cargo() {
+        ItineraryCandidatesCache candidatesCache = new ItineraryCandidatesCache(new ConcurrentMapCache("test"),
+                Duration.ofDays(1));
+        List<RouteSpecification> calculatedFor = new ArrayList<>();
+
+        List<Itinerary> first = candidatesCache.candidates(TrackingId.of("75FC0BD4"),
+                routeSpecification(DAY.plus(Duration.ofHours(10))), spec -> {
+                    calculatedFor.add(spec);
+                    return List.of(itinerary(spec.getArrivalDeadline()));
+                });
+        List<Itinerary> second = candidatesCache.candidates(TrackingId.of("695CF30D"),
+                routeSpecification(DAY.plus(Duration.ofHours(20))), spec -> {
+                    calculatedFor.add(spec);
+                    return List.of(itinerary(spec.getArrivalDeadline()));
+                });
+
+        // calculated only once, for the start of the bucket
+        assertThat(calculatedFor).singleElement()
+                .extracting(RouteSpecification::getArrivalDeadline)
+                .isEqualTo(UtcDateTime.of(DAY));
+
+        assertThat(first).flatExtracting(Itinerary::getLegs).extracting(Leg::getCargoTrackingId)
+                .containsOnly(TrackingId.of("75FC0BD4"));
+        assertThat(second).flatExtracting(Itinerary::getLegs).extracting(Leg::getCargoTrackingId)
+                .containsOnly(TrackingId.of("695CF30D"));
+
+        String key = candidatesCache.key(routeSpecification(DAY.plus(Duration.ofHours(10))));
+        assertThat(key).isEqualTo(candidatesCache.key(routeSpecification(DAY.plus(Duration.ofHours(20)))))
+                .isNotEqualTo(candidatesCache.key(routeSpecification(DAY.plus(Duration.ofHours(30)))));
+
+        // recalculated after invalidation
+        candidatesCache.invalidateAll();
+        candidatesCache.candidates(TrackingId.of("8E062F47"), routeSpecification(DAY.plus(Duration.ofHours(10))),
+                spec -> {
+                    calculatedFor.add(spec);
+                    return List.of(itinerary(spec.getArrivalDeadline()));
+                });
+        assertThat(calculatedFor).hasSize(2);
+    }
+
+    private static RouteSpecification routeSpecification(Instant deadline) {
+        return RouteSpecification.builder()
+                .origin(UnLocode.of("JNTKO"))
+                .destination(UnLocode.of("USDAL"))
+                .arrivalDeadline(UtcDateTime.of(deadline))
+                .build();
+    }
+
+    private static Itinerary itinerary(UtcDateTime deadline) {
+        return Itinerary.of(List.of(Leg.builder()
+                .cargoTrackingId(TrackingId.of("CC3A58FB"))
+                .voyageNumber(VoyageNumber.of("0100S"))
+                .loadLocation(UnLocode.of("JNTKO"))
+                .unloadLocation(UnLocode.of("USDAL"))
+                .loadTime(deadline.plusDays(-10))
+                .unloadTime(deadline.plusDays(-1))
+                .build()));
+    }
+}
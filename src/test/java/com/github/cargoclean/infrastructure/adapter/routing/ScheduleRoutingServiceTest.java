@@ -0,0 +1,170 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.core.model.UtcDateTime;
+import com.github.cargoclean.core.model.cargo.Itinerary;
+import com.github.cargoclean.core.model.cargo.Leg;
+import com.github.cargoclean.core.model.cargo.RouteSpecification;
+import com.github.cargoclean.core.model.cargo.TrackingId;
+import com.github.cargoclean.core.model.location.UnLocode;
+import com.github.cargoclean.core.model.voyage.VoyageNumber;
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.cargoclean.infrastructure.adapter.routing.VoyageScheduleGraph.EPOCH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+public class ScheduleRoutingServiceTest {
+
+    private static final TrackingId TRACKING_ID = TrackingId.of("ABCDEF12");
+
+    private static final VoyageScheduleGraph GRAPH = VoyageScheduleGraph.fromCsv(new StringReader("""
+            # direct, but slow
+            0200S,JNTKO,USDAL,10,300
+            # via Shanghai, staying onboard
+            0100S,JNTKO,CNSHA,0,24
+            0100S,CNSHA,USDAL,30,200
+            # from Shanghai, the fastest with a transfer
+            0300S,CNSHA,USDAL,40,150
+            """));
+
+    @Test
+    void should_find_itineraries_in_order_of_arrival_merging_legs_of_same_voyage() {
+
+        List<Itinerary> itineraries = routingService(Duration.ofHours(4))
+                .fetchRoutesForSpecification(TRACKING_ID, routeSpecification(Duration.ofDays(30)), EPOCH);
+
+        assertThat(itineraries).hasSize(3);
+        assertThat(itineraries).allMatch(itinerary -> itinerary.getLegs().stream()
+                .map(Leg::getCargoTrackingId)
+                .allMatch(TRACKING_ID::equals));
+
+        assertThat(itineraries.get(0).getLegs())
+                .extracting(Leg::getVoyageNumber, Leg::getLoadLocation, Leg::getUnloadLocation,
+                        Leg::getLoadTime, Leg::getUnloadTime)
+                .containsExactly(
+                        tuple(VoyageNumber.of("0100S"), UnLocode.of("JNTKO"), UnLocode.of("CNSHA"),
+                                hoursAfterEpoch(0), hoursAfterEpoch(24)),
+                        tuple(VoyageNumber.of("0300S"), UnLocode.of("CNSHA"), UnLocode.of("USDAL"),
+                                hoursAfterEpoch(40), hoursAfterEpoch(150)));
+
+        assertThat(itineraries.get(1).getLegs())
+                .extracting(Leg::getVoyageNumber, Leg::getLoadLocation, Leg::getUnloadLocation,
+                        Leg::getLoadTime, Leg::getUnloadTime)
+                .containsExactly(tuple(VoyageNumber.of("0100S"), UnLocode.of("JNTKO"), UnLocode.of("USDAL"),
+                        hoursAfterEpoch(0), hoursAfterEpoch(200)));
+
+        assertThat(itineraries.get(2).getLegs())
+                .extracting(Leg::getVoyageNumber, Leg::getUnloadTime)
+                .containsExactly(tuple(VoyageNumber.of("0200S"), hoursAfterEpoch(300)));
+    }
+
+    @Test
+    void should_wait_for_next_departure_if_transfer_takes_too_long() {
+
+        List<Itinerary> itineraries = routingService(Duration.ofHours(20))
+                .fetchRoutesForSpecification(TRACKING_ID, routeSpecification(Duration.ofDays(30)), EPOCH);
+
+        // connection to "0300S" in Shanghai is missed, next one departs a week later
+        assertThat(itineraries)
+                .extracting(itinerary -> itinerary.last().getUnloadTime())
+                .containsExactly(hoursAfterEpoch(200), hoursAfterEpoch(300), hoursAfterEpoch(318));
+    }
+
+    @Test
+    void should_return_only_itineraries_arriving_before_deadline() {
+
+        assertThat(routingService(Duration.ofHours(4))
+                .fetchRoutesForSpecification(TRACKING_ID, routeSpecification(Duration.ofHours(250)), EPOCH))
+                .hasSize(2);
+
+        assertThat(routingService(Duration.ofHours(4))
+                .fetchRoutesForSpecification(TRACKING_ID, routeSpecification(Duration.ofHours(100)), EPOCH))
+                .isEmpty();
+    }
+
+    @Test
+    void should_find_itineraries_satisfying_specification_using_default_schedule() {
+        CargoCleanProperties props = new CargoCleanProperties();
+        ScheduleRoutingService routingService = new ScheduleRoutingService(props, new DefaultResourceLoader(),
+                candidatesCache());
+
+        RouteSpecification routeSpecification = RouteSpecification.builder()
+                .origin(UnLocode.of("CNHKG"))
+                .destination(UnLocode.of("USDAL"))
+                .arrivalDeadline(UtcDateTime.now().plusDays(90))
+                .build();
+
+        List<Itinerary> itineraries = routingService.fetchRoutesForSpecification(TRACKING_ID, routeSpecification);
+
+        assertThat(itineraries).isNotEmpty()
+                .hasSizeLessThanOrEqualTo(props.getRouting().getMaxItineraries())
+                .allMatch(routeSpecification::isSatisfiedBy);
+    }
+
+    @Test
+    void should_evict_cached_itineraries_when_schedule_is_updated() {
+        ScheduleRoutingService routingService = new ScheduleRoutingService(GRAPH, new CargoCleanProperties.Routing(),
+                candidatesCache());
+        RouteSpecification routeSpecification = RouteSpecification.builder()
+                .origin(UnLocode.of("JNTKO"))
+                .destination(UnLocode.of("USDAL"))
+                .arrivalDeadline(UtcDateTime.now().plusDays(60))
+                .build();
+
+        assertThat(routingService.fetchRoutesForSpecification(TRACKING_ID, routeSpecification)).hasSize(3);
+
+        routingService.updateSchedule(VoyageScheduleGraph.fromCsv(new StringReader("""
+                0200S,JNTKO,USDAL,10,300
+                """)));
+
+        assertThat(routingService.fetchRoutesForSpecification(TRACKING_ID, routeSpecification))
+                .singleElement()
+                .extracting(itinerary -> itinerary.last().getVoyageNumber())
+                .isEqualTo(VoyageNumber.of("0200S"));
+    }
+
+    @Test
+    void should_calculate_travel_time_lower_bounds_once_per_destination() {
+        int destination = GRAPH.nodeIndex(UnLocode.of("USDAL")).orElseThrow();
+
+        long[] lowerBounds = GRAPH.travelTimeLowerBounds(destination);
+
+        assertThat(GRAPH.travelTimeLowerBounds(destination)).isSameAs(lowerBounds);
+        assertThat(lowerBounds[GRAPH.nodeIndex(UnLocode.of("JNTKO")).orElseThrow()])
+                .isEqualTo(Duration.ofHours(24 + 110).toMillis());
+        assertThat(lowerBounds[GRAPH.nodeIndex(UnLocode.of("CNSHA")).orElseThrow()])
+                .isEqualTo(Duration.ofHours(110).toMillis());
+        assertThat(lowerBounds[destination]).isZero();
+        assertThat(GRAPH.travelTimeLowerBounds(GRAPH.nodeIndex(UnLocode.of("JNTKO")).orElseThrow())
+                [destination]).isEqualTo(Long.MAX_VALUE);
+    }
+
+    private static ScheduleRoutingService routingService(Duration minimumTransferTime) {
+        CargoCleanProperties.Routing props = new CargoCleanProperties.Routing();
+        props.setMinimumTransferTime(minimumTransferTime);
+        return new ScheduleRoutingService(GRAPH, props, candidatesCache());
+    }
+
+    private static ItineraryCandidatesCache candidatesCache() {
+        return new ItineraryCandidatesCache(new ConcurrentMapCache("itineraryCache"), Duration.ofDays(1));
+    }
+
+    private static RouteSpecification routeSpecification(Duration deadlineAfterEpoch) {
+        return RouteSpecification.builder()
+                .origin(UnLocode.of("JNTKO"))
+                .destination(UnLocode.of("USDAL"))
+                .arrivalDeadline(UtcDateTime.of(EPOCH.plus(deadlineAfterEpoch)))
+                .build();
+    }
+
+    private static UtcDateTime hoursAfterEpoch(long hours) {
+        return UtcDateTime.of(EPOCH.plus(Duration.ofHours(hours)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.cargoclean.infrastructure.adapter.routing;
+
+import com.github.cargoclean.infrastructure.config.CargoCleanProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class VoyageScheduleReloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_update_schedule_only_when_resource_was_modified() throws IOException {
+        Path schedule = Files.writeString(tempDir.resolve("voyage-schedule.csv"), """
+                0200S,JNTKO,USDAL,10,300
+                """);
+        Files.setLastModifiedTime(schedule, FileTime.from(Instant.parse("2022-01-03T00:00:00Z")));
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getRouting().setSchedule(schedule.toUri().toString());
+        ScheduleRoutingService routingService = mock(ScheduleRoutingService.class);
+
+        VoyageScheduleReloader reloader = new VoyageScheduleReloader(routingService, new DefaultResourceLoader(),
+                props);
+
+        reloader.reloadIfModified();
+        verify(routingService, never()).updateSchedule(any());
+
+        Files.writeString(schedule, """
+                0200S,JNTKO,USDAL,10,300
+                0100S,JNTKO,CNSHA,0,24
+                """);
+        Files.setLastModifiedTime(schedule, FileTime.from(Instant.parse("2022-01-04T00:00:00Z")));
+
+        reloader.reloadIfModified();
+        reloader.reloadIfModified();
+        verify(routingService).updateSchedule(any());
+    }
+
+    @Test
+    void should_keep_current_schedule_if_modified_schedule_is_invalid() throws IOException {
+        Path schedule = Files.writeString(tempDir.resolve("voyage-schedule.csv"), """
+                0200S,JNTKO,USDAL,10,300
+                """);
+        Files.setLastModifiedTime(schedule, FileTime.from(Instant.parse("2022-01-03T00:00:00Z")));
+        CargoCleanProperties props = new CargoCleanProperties();
+        props.getRouting().setSchedule(schedule.toUri().toString());
+        ScheduleRoutingService routingService = mock(ScheduleRoutingService.class);
+        VoyageScheduleReloader reloader = new VoyageScheduleReloader(routingService, new DefaultResourceLoader(),
+                props);
+
+        Files.writeString(schedule, """
+                0200S,JNTKO,USDAL
+                """);
+        Files.setLastModifiedTime(schedule, FileTime.from(Instant.parse("2022-01-04T00:00:00Z")));
+
+        reloader.reloadIfModified();
+        verify(routingService, never()).updateSchedule(any());
+    }
+}